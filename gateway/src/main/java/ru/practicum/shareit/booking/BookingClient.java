@@ -1,14 +1,23 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingBatchDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingIdsDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientCaches;
 import ru.practicum.shareit.util.RequestParameters;
 
 import java.util.Map;
@@ -17,34 +26,90 @@ import java.util.Map;
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    // an item shows its last and next bookings with their status
+    @Nullable
+    private final Cache items;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory, ObjectProvider<WebClient> webClient,
+                         CacheManager cacheManager) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                withBaseUrl(webClient, serverUrl + API_PREFIX),
+                null
         );
+        this.items = cacheManager.getCache(ClientCaches.ITEMS);
+    }
+
+    public Mono<ResponseEntity<Object>> createBooking(BookingDto bookingDto, Long bookerId) {
+        return evicting(post("", bookerId, bookingDto), () -> evict(items, "/" + bookingDto.getItemId()));
+    }
+
+    public Mono<ResponseEntity<Object>> createBookings(BookingBatchDto bookingBatchDto, Long bookerId) {
+        return evicting(post("/batch", bookerId, bookingBatchDto), () -> bookingBatchDto.getBookings().stream()
+                .map(BookingDto::getItemId)
+                .distinct()
+                .forEach(itemId -> evict(items, "/" + itemId)));
     }
 
-    public ResponseEntity<Object> createBooking(BookingDto bookingDto, Long bookerId) {
-        return post("", bookerId, bookingDto);
+    public Mono<ResponseEntity<Object>> approveBooking(Long ownerId, Long bookingId, Boolean approved) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return evictingItemsOf(patch("/" + bookingId + "?approved={approved}", ownerId, parameters), "item", "id");
     }
 
-    public ResponseEntity<Object> approveBooking(Long ownerId, Long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> approveBookings(Long ownerId, BookingIdsDto bookingIdsDto, Boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
-        return patch("/" + bookingId + "?approved={approved}", ownerId, parameters);
+        return evictingItemsOf(
+                patch("/batch?approved={approved}", ownerId, parameters, bookingIdsDto), "booking", "item", "id"
+        );
     }
 
-    public ResponseEntity<Object> getBookingByOwnerId(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBookingByOwnerId(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookingsByStateOfBooker(int from, int size, Long bookerId, String state) {
+    public Mono<ResponseEntity<Object>> getBookingsByStateOfBooker(int from, int size, Long bookerId, String state) {
         return get("?state={state}&from={from}&size={size}", bookerId, RequestParameters.ofState(from, size, state));
     }
 
-    public ResponseEntity<Object> getBookingsByStateOfOwner(int from, int size, Long ownerId, String state) {
+    public Mono<ResponseEntity<Object>> getBookingsByStateOfBooker(String cursor, int size, Long bookerId, String state) {
+        return get(
+                "?state={state}&cursor={cursor}&size={size}",
+                bookerId,
+                RequestParameters.ofStateCursor(cursor, size, state)
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getCountsOfBooker(Long bookerId) {
+        return get("/counts", bookerId);
+    }
+
+    public Mono<ResponseEntity<Object>> getCountsOfOwner(Long ownerId) {
+        return get("/owner/counts", ownerId);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingsByStateOfOwner(int from, int size, Long ownerId, String state) {
         return get("/owner?state={state}&from={from}&size={size}", ownerId, RequestParameters.ofState(from, size, state));
     }
+
+    public Mono<ResponseEntity<Object>> getBookingsByStateOfOwner(String cursor, int size, Long ownerId, String state) {
+        return get(
+                "/owner?state={state}&cursor={cursor}&size={size}",
+                ownerId,
+                RequestParameters.ofStateCursor(cursor, size, state)
+        );
+    }
+
+    // items of approved or rejected bookings come with the bookings, without a response any item may show them
+    private Mono<ResponseEntity<Object>> evictingItemsOf(Mono<ResponseEntity<Object>> response, String... itemIdFields) {
+        return evicting(
+                response,
+                r -> idsOf(r, itemIdFields).stream().distinct().forEach(itemId -> evict(items, "/" + itemId)),
+                () -> clear(items)
+        );
+    }
 }
@@ -13,8 +13,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingAdvancedDto;
+import ru.practicum.shareit.booking.dto.BookingBatchDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingIdsDto;
 import ru.practicum.shareit.booking.dto.BookingStatus;
 
 import javax.validation.Valid;
@@ -35,7 +38,7 @@ public class BookingController {
 			content = {@Content(mediaType = "application/json",
 					schema = @Schema(implementation = BookingAdvancedDto.class))})
 	@PostMapping
-	public ResponseEntity<Object> createBooking(
+	public Mono<ResponseEntity<Object>> createBooking(
 			@Valid @RequestBody BookingDto bookingDto,
 			@RequestHeader(name = "X-Sharer-User-Id") Long bookerId
 	) {
@@ -43,13 +46,28 @@ public class BookingController {
 		return bookingClient.createBooking(bookingDto, bookerId);
 	}
 
+	@Operation(summary = "Create bookings in batch",
+			description = "Creating up to " + BookingBatchDto.MAX_SIZE + " bookings of the booker at once. " +
+					"All entries are validated first; the result of each entry is returned by its index " +
+					"with the created booking or the error status and message")
+	@ApiResponse(responseCode = "200", description = "Successful",
+			content = {@Content(mediaType = "application/json")})
+	@PostMapping("/batch")
+	public Mono<ResponseEntity<Object>> createBookings(
+			@Valid @RequestBody BookingBatchDto bookingBatchDto,
+			@RequestHeader(name = "X-Sharer-User-Id") Long bookerId
+	) {
+		log.info("POST /bookings/batch of {} bookings", bookingBatchDto.getBookings().size());
+		return bookingClient.createBookings(bookingBatchDto, bookerId);
+	}
+
 	@Operation(summary = "Update booking by id",
 			description = "Update item booking by the booking id")
 	@ApiResponse(responseCode = "200", description = "Successful",
 			content = {@Content(mediaType = "application/json",
 					schema = @Schema(implementation = BookingAdvancedDto.class))})
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> approveBooking(
+	public Mono<ResponseEntity<Object>> approveBooking(
 			@RequestHeader(name = "X-Sharer-User-Id") Long ownerId,
 			@RequestParam boolean approved,
 			@PathVariable Long bookingId
@@ -58,13 +76,29 @@ public class BookingController {
 		return bookingClient.approveBooking(ownerId, bookingId, approved);
 	}
 
+	@Operation(summary = "Approve or reject bookings in batch",
+			description = "Approve or reject up to " + BookingBatchDto.MAX_SIZE + " waiting bookings " +
+					"of the owner's items at once; the result of each booking is returned by its index " +
+					"with the updated booking or the error status and message")
+	@ApiResponse(responseCode = "200", description = "Successful",
+			content = {@Content(mediaType = "application/json")})
+	@PatchMapping("/batch")
+	public Mono<ResponseEntity<Object>> approveBookings(
+			@RequestHeader(name = "X-Sharer-User-Id") Long ownerId,
+			@RequestParam boolean approved,
+			@Valid @RequestBody BookingIdsDto bookingIdsDto
+	) {
+		log.info("PATCH /bookings/batch?approved={} of {} bookings", approved, bookingIdsDto.getIds().size());
+		return bookingClient.approveBookings(ownerId, bookingIdsDto, approved);
+	}
+
 	@Operation(summary = "Get booking by id",
 			description = "Get item booking by the booking id")
 	@ApiResponse(responseCode = "200", description = "Successful",
 			content = {@Content(mediaType = "application/json",
 					schema = @Schema(implementation = BookingAdvancedDto.class))})
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBookingByOwnerId(
+	public Mono<ResponseEntity<Object>> getBookingByOwnerId(
 			@RequestHeader(name = "X-Sharer-User-Id") Long userId,
 			@PathVariable Long bookingId
 	) {
@@ -73,39 +107,78 @@ public class BookingController {
 	}
 
 	@Operation(summary = "Get bookings of booker",
-			description = "Get bookings of booker by state with pagination")
+			description = "Get bookings of booker by state with pagination, " +
+					"the number of bookings in the state is in the X-Total-Count header")
 	@ApiResponse(responseCode = "200", description = "Successful",
 			content = {@Content(mediaType = "application/json",
 					array = @ArraySchema(schema = @Schema(implementation = BookingAdvancedDto.class)))})
 	@GetMapping
-	public ResponseEntity<Object> getBookingsByStateOfBooker(
+	public Mono<ResponseEntity<Object>> getBookingsByStateOfBooker(
 			@RequestHeader(name = "X-Sharer-User-Id") Long bookerId,
 			@Parameter(allowEmptyValue = true, schema = @Schema(implementation = BookingStatus.class))
 			@RequestParam(name = "state", required = false, defaultValue = "all") String state,
 			@RequestParam(name = "from", defaultValue = "0") int from,
-			@RequestParam(name = "size", defaultValue = "20") int size
+			@RequestParam(name = "size", defaultValue = "20") int size,
+			@Parameter(description = "continuation token of the previous page from the X-Next-Cursor header, " +
+					"empty for the first page; replaces from")
+			@RequestParam(name = "cursor", required = false) String cursor
 	) {
+		if (cursor != null) {
+			log.info("GET /bookings?state={}&cursor={}&size={}", state, cursor, size);
+			return bookingClient.getBookingsByStateOfBooker(cursor, size, bookerId, state);
+		}
 		log.info("GET /bookings?state={}&from{}&size{}", state, from, size);
 		return bookingClient.getBookingsByStateOfBooker(from, size, bookerId, state);
 	}
 
 	@Operation(summary = "Get bookings of item owner",
-			description = "Get bookings of item owner by state with pagination")
+			description = "Get bookings of item owner by state with pagination, " +
+					"the number of bookings in the state is in the X-Total-Count header")
 	@ApiResponse(responseCode = "200", description = "Successful",
 			content = {@Content(mediaType = "application/json",
 					array = @ArraySchema(schema = @Schema(implementation = BookingAdvancedDto.class)))})
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getBookingsByStateOfOwner(
+	public Mono<ResponseEntity<Object>> getBookingsByStateOfOwner(
 			@RequestHeader(name = "X-Sharer-User-Id") Long ownerId,
 			@Parameter(allowEmptyValue = true,
 					description = "all bookings are output if no state in query",
 					schema = @Schema(implementation = BookingStatus.class))
 			@RequestParam(name = "state", required = false, defaultValue = "all") String state,
 			@RequestParam(name = "from", defaultValue = "0") int from,
-			@RequestParam(name = "size", defaultValue = "20") int size
-
+			@RequestParam(name = "size", defaultValue = "20") int size,
+			@Parameter(description = "continuation token of the previous page from the X-Next-Cursor header, " +
+					"empty for the first page; replaces from")
+			@RequestParam(name = "cursor", required = false) String cursor
 	) {
+		if (cursor != null) {
+			log.info("GET /bookings/owner?state={}&cursor={}&size={}", state, cursor, size);
+			return bookingClient.getBookingsByStateOfOwner(cursor, size, ownerId, state);
+		}
 		log.info("GET /bookings/owner?state={}&from{}&size{}", state, from, size);
 		return bookingClient.getBookingsByStateOfOwner(from, size, ownerId, state);
 	}
+
+	@Operation(summary = "Get booking counts of booker",
+			description = "Get numbers of bookings of booker by state")
+	@ApiResponse(responseCode = "200", description = "Successful",
+			content = {@Content(mediaType = "application/json")})
+	@GetMapping("/counts")
+	public Mono<ResponseEntity<Object>> getCountsOfBooker(
+			@RequestHeader(name = "X-Sharer-User-Id") Long bookerId
+	) {
+		log.info("GET /bookings/counts");
+		return bookingClient.getCountsOfBooker(bookerId);
+	}
+
+	@Operation(summary = "Get booking counts of item owner",
+			description = "Get numbers of bookings of item owner by state")
+	@ApiResponse(responseCode = "200", description = "Successful",
+			content = {@Content(mediaType = "application/json")})
+	@GetMapping("/owner/counts")
+	public Mono<ResponseEntity<Object>> getCountsOfOwner(
+			@RequestHeader(name = "X-Sharer-User-Id") Long ownerId
+	) {
+		log.info("GET /bookings/owner/counts");
+		return bookingClient.getCountsOfOwner(ownerId);
+	}
 }
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+// a JSON array of bookings, wrapped to validate every entry and the batch size
+@Getter(onMethod_ = @JsonValue)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingBatchDto {
+    public static final int MAX_SIZE = 500;
+
+    @NotEmpty(message = "bookings are required")
+    @Size(max = MAX_SIZE, message = "no more than " + MAX_SIZE + " bookings in a batch")
+    List<@Valid BookingDto> bookings;
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public BookingBatchDto(List<BookingDto> bookings) {
+        this.bookings = bookings;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+// a JSON array of booking ids, wrapped to validate every id and the batch size
+@Getter(onMethod_ = @JsonValue)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingIdsDto {
+    @NotEmpty(message = "booking ids are required")
+    @Size(max = BookingBatchDto.MAX_SIZE, message = "no more than " + BookingBatchDto.MAX_SIZE + " bookings in a batch")
+    List<@NotNull(message = "booking id is required") @Positive(message = "booking id should be positive") Long> ids;
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public BookingIdsDto(List<Long> ids) {
+        this.ids = ids;
+    }
+}
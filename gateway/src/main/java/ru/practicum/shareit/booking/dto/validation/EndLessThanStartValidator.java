@@ -9,6 +9,10 @@ public class EndLessThanStartValidator implements ConstraintValidator<EndLessTha
 
     @Override
     public boolean isValid(BookingDto bookingDto, ConstraintValidatorContext context) {
+        // missing dates are reported by @NotNull
+        if (bookingDto.getStart() == null || bookingDto.getEnd() == null) {
+            return true;
+        }
         return bookingDto.getStart().isBefore((bookingDto).getEnd());
     }
 }
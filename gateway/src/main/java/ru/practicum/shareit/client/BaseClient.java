@@ -1,8 +1,17 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Value;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -11,79 +20,215 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 
 public class BaseClient {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
     protected final RestTemplate rest;
+    @Nullable
+    private final WebClient webClient;
+    @Nullable
+    private final Cache cache;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, null);
+    }
+
+    /**
+     * @param webClient non-blocking client used instead of the rest template, if present
+     * @param cache     cache of successful responses of {@link #getCached}, per path and user;
+     *                  writes evict the paths they change with {@link #evicting}
+     */
+    public BaseClient(RestTemplate rest, @Nullable WebClient webClient, @Nullable Cache cache) {
         this.rest = rest;
+        this.webClient = webClient;
+        this.cache = cache;
+    }
+
+    @Nullable
+    protected static WebClient withBaseUrl(ObjectProvider<WebClient> webClient, String baseUrl) {
+        return webClient.stream()
+                .map(c -> c.mutate().uriBuilderFactory(new DefaultUriBuilderFactory(baseUrl)).build())
+                .findFirst()
+                .orElse(null);
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected ResponseEntity<Object> get(String path, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, null, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    @SuppressWarnings("unchecked")
+    protected Mono<ResponseEntity<Object>> getCached(String path, @Nullable Long userId) {
+        if (cache == null) {
+            return get(path, userId, null);
+        }
+        CacheKey key = new CacheKey(path, userId);
+        return Mono.defer(() -> {
+            Cache.ValueWrapper cached = cache.get(key);
+            if (cached != null) {
+                return Mono.just((ResponseEntity<Object>) cached.get());
+            }
+            return get(path, userId, null).doOnNext(response -> {
+                if (response.getStatusCode().is2xxSuccessful()) {
+                    cache.put(key, response);
+                }
+            });
+        });
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        Mono<ResponseEntity<Object>> response = (webClient != null)
+                ? exchangeNonBlocking(method, path, userId, parameters, body)
+                : Mono.fromCallable(() -> exchange(method, path, userId, parameters, body));
+        return response;
+    }
+
+    protected static Mono<ResponseEntity<Object>> evicting(Mono<ResponseEntity<Object>> response, Runnable eviction) {
+        return evicting(response, r -> eviction.run(), eviction);
+    }
+
+    /**
+     * Evicts before the response is passed on, so that the next read of the caller misses.
+     *
+     * @param eviction        evicts what the write changed, may look at the response of the server
+     * @param evictionOnError evicts when there is no response, the write may still have reached the server
+     */
+    protected static Mono<ResponseEntity<Object>> evicting(Mono<ResponseEntity<Object>> response,
+                                                           Consumer<ResponseEntity<Object>> eviction,
+                                                           Runnable evictionOnError) {
+        return response.doOnEach(signal -> {
+            if (signal.isOnNext()) {
+                eviction.accept(signal.get());
+            } else if (signal.isOnError()) {
+                evictionOnError.run();
+            }
+        });
+    }
+
+    // cached responses of all users for the path, other paths stay cached
+    protected static void evict(@Nullable Cache cache, String path) {
+        if (cache instanceof CaffeineCache) {
+            ((CaffeineCache) cache).getNativeCache().asMap().keySet()
+                    .removeIf(key -> key instanceof CacheKey && ((CacheKey) key).getPath().equals(path));
+        } else if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    protected void evict(String path) {
+        evict(cache, path);
+    }
+
+    protected static void clear(@Nullable Cache cache) {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    // ids at the field path of a successful JSON response, of every element of an array
+    protected static List<Long> idsOf(ResponseEntity<Object> response, String... fields) {
+        List<Long> ids = new ArrayList<>();
+        if (!response.getStatusCode().is2xxSuccessful() || !(response.getBody() instanceof byte[])) {
+            return ids;
+        }
+        try {
+            JsonNode root = JSON.readTree((byte[]) response.getBody());
+            Iterable<JsonNode> nodes = (root.isArray()) ? root : List.of(root);
+            for (JsonNode node : nodes) {
+                JsonNode id = node;
+                for (String field : fields) {
+                    id = id.path(field);
+                }
+                if (id.canConvertToLong()) {
+                    ids.add(id.asLong());
+                }
+            }
+        } catch (IOException e) {
+            return ids;
+        }
+        return ids;
+    }
+
+    private <T> Mono<ResponseEntity<Object>> exchangeNonBlocking(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, (parameters != null) ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> requestWithBody = (body != null) ? request.bodyValue(body) : request;
+        return requestWithBody.exchangeToMono(response -> {
+            if (response.statusCode().is2xxSuccessful()) {
+                return response.toEntity(byte[].class).map(BaseClient::prepareGatewayResponse);
+            }
+            return response.bodyToMono(byte[].class)
+                    .map(bytes -> ResponseEntity.status(response.statusCode()).body((Object) bytes))
+                    .defaultIfEmpty(ResponseEntity.status(response.statusCode()).build());
+        });
+    }
+
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        // the body is passed through as bytes, without parsing and re-serializing the JSON
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
@@ -101,9 +246,9 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            return new ResponseEntity<>(response.getBody(), response.getHeaders(), response.getStatusCode());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
@@ -114,4 +259,11 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    @Value
+    private static class CacheKey {
+        String path;
+        @Nullable
+        Long userId;
+    }
 }
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In the blocking mode the rest template call runs when the controller subscribes to the client response, on the
+ * servlet thread either way. The controller responses are written right away, as a returned response entity,
+ * instead of going through Spring MVC async handling with a second dispatch and the async request timeout.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.http-client.mode", havingValue = "blocking", matchIfMissing = true)
+public class BlockingResponseConfig {
+    @Bean
+    public SmartInitializingSingleton blockingResponseHandlerRegistrar(RequestMappingHandlerAdapter adapter) {
+        return () -> {
+            List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(adapter.getReturnValueHandlers());
+            HandlerMethodReturnValueHandler responseEntityHandler = handlers.stream()
+                    .filter(HttpEntityMethodProcessor.class::isInstance)
+                    .findFirst()
+                    .orElseThrow();
+            // ahead of the reactive type handler, which would start async processing for a Mono
+            handlers.add(0, new BlockingResponseHandler(responseEntityHandler));
+            adapter.setReturnValueHandlers(handlers);
+        };
+    }
+
+    static class BlockingResponseHandler implements HandlerMethodReturnValueHandler {
+        private final HandlerMethodReturnValueHandler responseEntityHandler;
+
+        BlockingResponseHandler(HandlerMethodReturnValueHandler responseEntityHandler) {
+            this.responseEntityHandler = responseEntityHandler;
+        }
+
+        @Override
+        public boolean supportsReturnType(MethodParameter returnType) {
+            return Mono.class.isAssignableFrom(returnType.getParameterType());
+        }
+
+        @Override
+        public void handleReturnValue(Object returnValue, MethodParameter returnType,
+                                      ModelAndViewContainer mavContainer, NativeWebRequest webRequest)
+                throws Exception {
+            Object response = (returnValue != null) ? ((Mono<?>) returnValue).block() : null;
+            responseEntityHandler.handleReturnValue(response, returnType, mavContainer, webRequest);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.client;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Names of the gateway response caches, configured by spring.cache.cache-names.
+ */
+@UtilityClass
+public class ClientCaches {
+    public static final String ITEMS = "items";
+    public static final String USERS = "users";
+    public static final String REQUESTS = "requests";
+}
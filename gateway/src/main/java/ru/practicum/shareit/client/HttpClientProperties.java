@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection pool and timeouts of the HTTP client shared by the clients of the ShareIt server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+    /**
+     * BLOCKING sends requests by the rest template on the servlet thread, REACTIVE by WebClient on Netty
+     * event loops, releasing the servlet thread until the server responds.
+     */
+    private Mode mode = Mode.BLOCKING;
+    /** Max connections in the pool. */
+    private int maxTotal = 200;
+    /** Max connections to one host; the gateway talks to a single server, so equal to the total by default. */
+    private int maxPerRoute = 200;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    /** Max wait for a free connection of the pool. */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    /** Keep-alive of a connection when the server response has no Keep-Alive header. */
+    private Duration keepAlive = Duration.ofSeconds(30);
+    /** Connections idle for longer are closed by a background thread. */
+    private Duration idleTimeout = Duration.ofSeconds(60);
+
+    public enum Mode {
+        BLOCKING,
+        REACTIVE
+    }
+}
@@ -1,13 +1,20 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientCaches;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.util.RequestParameters;
@@ -16,37 +23,76 @@ import ru.practicum.shareit.util.RequestParameters;
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    @Nullable
+    private final Cache requests;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, ObjectProvider<WebClient> webClient,
+                      CacheManager cacheManager) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                withBaseUrl(webClient, serverUrl + API_PREFIX),
+                cacheManager.getCache(ClientCaches.ITEMS)
         );
+        this.requests = cacheManager.getCache(ClientCaches.REQUESTS);
     }
 
-    public ResponseEntity<Object> createItem(ItemDto itemDto, long userId) {
-        return post("", userId, itemDto);
+    public Mono<ResponseEntity<Object>> createItem(ItemDto itemDto, long userId) {
+        // a request lists the items answering it
+        return evicting(post("", userId, itemDto), () -> {
+            if (itemDto.getRequestId() != null) {
+                evict(requests, "/" + itemDto.getRequestId());
+            }
+        });
     }
 
-    public ResponseEntity<Object> updateItem(long itemId, long userId, ItemDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+    public Mono<ResponseEntity<Object>> updateItem(long itemId, long userId, ItemDto itemDto) {
+        // the request of the item comes with the updated item, without a response any request may list it
+        return evicting(
+                patch("/" + itemId, userId, itemDto),
+                response -> {
+                    evict("/" + itemId);
+                    idsOf(response, "requestId").forEach(requestId -> evict(requests, "/" + requestId));
+                },
+                () -> {
+                    evict("/" + itemId);
+                    clear(requests);
+                }
+        );
     }
 
-    public ResponseEntity<Object> getItemById(long itemId, long userId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItemById(long itemId, long userId) {
+        return getCached("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAllByOwnerId(int from, int size, Long ownerId) {
+    public Mono<ResponseEntity<Object>> getAvailability(long itemId, String from, String to) {
+        return get("/" + itemId + "/availability?from={from}&to={to}", RequestParameters.ofPeriod(from, to));
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByOwnerId(int from, int size, Long ownerId) {
         return get("?from={from}&size={size}", ownerId, RequestParameters.of(from, size));
     }
 
-    public ResponseEntity<Object> searchItems(int from, int size, String text) {
+    public Mono<ResponseEntity<Object>> getAllByOwnerId(String cursor, int size, Long ownerId) {
+        return get("?cursor={cursor}&size={size}", ownerId, RequestParameters.ofCursor(cursor, size));
+    }
+
+    public Mono<ResponseEntity<Object>> searchItems(int from, int size, String text) {
         return get("/search?text={text}&from={from}&size={size}", RequestParameters.ofText(from, size, text));
     }
 
-    public ResponseEntity<Object> createComment(CommentDto commentDto, Long itemId, Long authorId) {
-        return post("/" + itemId + "/comment", authorId, commentDto);
+    public Mono<ResponseEntity<Object>> searchItems(int from, int size, String text, String start, String end) {
+        return get(
+                "/search?text={text}&from={from}&size={size}&start={start}&end={end}",
+                RequestParameters.ofTextPeriod(from, size, text, start, end)
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> createComment(CommentDto commentDto, Long itemId, Long authorId) {
+        return evicting(post("/" + itemId + "/comment", authorId, commentDto), () -> evict("/" + itemId));
     }
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,7 +12,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.ItemAdvancedDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -33,7 +36,7 @@ public class ItemController {
 			content = {@Content(mediaType = "application/json",
 					schema = @Schema(implementation = ItemAdvancedDto.class))})
 	@PostMapping
-	public ResponseEntity<Object> createItem(
+	public Mono<ResponseEntity<Object>> createItem(
 			@Valid @RequestBody ItemDto itemDto,
 			@RequestHeader(name = "X-Sharer-User-Id") Long userId
 	) {
@@ -47,7 +50,7 @@ public class ItemController {
 			content = {@Content(mediaType = "application/json",
 					schema = @Schema(implementation = ItemAdvancedDto.class))})
 	@PatchMapping("/{itemId}")
-	public ResponseEntity<Object> updateItem(
+	public Mono<ResponseEntity<Object>> updateItem(
 			@RequestBody ItemDto itemDto,
 			@PathVariable Long itemId,
 			@RequestHeader(name = "X-Sharer-User-Id") Long userId
@@ -62,7 +65,7 @@ public class ItemController {
 			content = {@Content(mediaType = "application/json",
 					schema = @Schema(implementation = ItemAdvancedDto.class))})
 	@GetMapping("/{itemId}")
-	public ResponseEntity<Object> getItemById(
+	public Mono<ResponseEntity<Object>> getItemById(
 			@PathVariable Long itemId,
 			@RequestHeader(name = "X-Sharer-User-Id") Long userId
 	) {
@@ -70,34 +73,64 @@ public class ItemController {
 		return itemClient.getItemById(itemId, userId);
 	}
 
+	@Operation(summary = "Get free time of item",
+			description = "Get periods of the item free of approved bookings, ordered by start")
+	@ApiResponse(responseCode = "200", description = "Successful",
+			content = {@Content(mediaType = "application/json",
+					array = @ArraySchema(schema = @Schema(implementation = FreeSlotDto.class)))})
+	@GetMapping("/{itemId}/availability")
+	public Mono<ResponseEntity<Object>> getAvailability(
+			@PathVariable Long itemId,
+			@Parameter(description = "start of the period, ISO date-time, now if empty or in the past")
+			@RequestParam(name = "from", required = false) String from,
+			@Parameter(description = "end of the period, ISO date-time, 30 days after the start if empty")
+			@RequestParam(name = "to", required = false) String to
+	) {
+		log.info("GET /items/{}/availability?from={}&to={}", itemId, from, to);
+		return itemClient.getAvailability(itemId, from, to);
+	}
+
 	@Operation(summary = "Get all items by owner id",
 			description = "Get all items of owner by his id")
 	@ApiResponse(responseCode = "200", description = "Successful",
 			content = {@Content(mediaType = "application/json",
 					array = @ArraySchema(schema = @Schema(implementation = ItemAdvancedDto.class)))})
 	@GetMapping
-	public ResponseEntity<Object> getItemsByOwnerId(
+	public Mono<ResponseEntity<Object>> getItemsByOwnerId(
 			@RequestHeader(name = "X-Sharer-User-Id") Long ownerId,
 			@RequestParam(name = "from", defaultValue = "0") int from,
-			@RequestParam(name = "size", defaultValue = "20") int size
+			@RequestParam(name = "size", defaultValue = "20") int size,
+			@Parameter(description = "continuation token of the previous page from the X-Next-Cursor header, " +
+					"empty for the first page; replaces from")
+			@RequestParam(name = "cursor", required = false) String cursor
 	) {
 		log.info("GET /items");
+		if (cursor != null) {
+			return itemClient.getAllByOwnerId(cursor, size, ownerId);
+		}
 		return itemClient.getAllByOwnerId(from, size, ownerId);
 	}
 
 	@Operation(summary = "Search items",
-			description = "Search items by name or description")
+			description = "Search items by name or description, only items free in the period if it is given")
 	@ApiResponse(responseCode = "200", description = "Successful",
 			content = {@Content(mediaType = "application/json",
 					array = @ArraySchema(schema = @Schema(implementation = ItemAdvancedDto.class)))})
 	@GetMapping("/search")
-	public ResponseEntity<Object> searchItems(
+	public Mono<ResponseEntity<Object>> searchItems(
 			@RequestParam(name = "text", defaultValue = "") String text,
 			@RequestParam(name = "from", defaultValue = "0") int from,
-			@RequestParam(name = "size", defaultValue = "20") int size
+			@RequestParam(name = "size", defaultValue = "20") int size,
+			@Parameter(description = "start of the period, ISO date-time, required with end")
+			@RequestParam(name = "start", required = false) String start,
+			@Parameter(description = "end of the period, ISO date-time, required with start")
+			@RequestParam(name = "end", required = false) String end
 	) {
-		log.info("GET /items/search?text={}", text);
-		return itemClient.searchItems(from, size, text);
+		log.info("GET /items/search?text={}&start={}&end={}", text, start, end);
+		if (start == null && end == null) {
+			return itemClient.searchItems(from, size, text);
+		}
+		return itemClient.searchItems(from, size, text, start, end);
 	}
 
 	@Operation(summary = "Add comment",
@@ -106,7 +139,7 @@ public class ItemController {
 			content = {@Content(mediaType = "application/json",
 					schema = @Schema(implementation = CommentDto.class))})
 	@PostMapping("/{itemId}/comment")
-	public ResponseEntity<Object> createComment(
+	public Mono<ResponseEntity<Object>> createComment(
 			@Valid @RequestBody CommentDto commentDto,
 			@PathVariable Long itemId,
 			@RequestHeader(name = "X-Sharer-User-Id") Long authorId
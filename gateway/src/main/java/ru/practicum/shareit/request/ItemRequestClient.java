@@ -1,13 +1,18 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientCaches;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.util.RequestParameters;
 
@@ -16,28 +21,36 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory, ObjectProvider<WebClient> webClient,
+                             CacheManager cacheManager) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                withBaseUrl(webClient, serverUrl + API_PREFIX),
+                cacheManager.getCache(ClientCaches.REQUESTS)
         );
     }
 
-    public ResponseEntity<Object> createRequest(ItemRequestDto itemRequestDto, Long requesterId) {
+    public Mono<ResponseEntity<Object>> createRequest(ItemRequestDto itemRequestDto, Long requesterId) {
         return post("", requesterId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getItemRequestsByRequesterId(Long requesterId) {
+    public Mono<ResponseEntity<Object>> getItemRequestsByRequesterId(Long requesterId) {
         return get("", requesterId);
     }
 
-    public ResponseEntity<Object> getAllRequests(int from, int size, Long requesterId) {
+    public Mono<ResponseEntity<Object>> getAllRequests(int from, int size, Long requesterId) {
         return get("/all?from={from}&size={size}", requesterId, RequestParameters.of(from, size));
     }
 
-    public ResponseEntity<Object> getRequestById(Long requestId, Long requesterId) {
-        return get("/" + requestId, requesterId);
+    public Mono<ResponseEntity<Object>> getAllRequests(String cursor, int size, Long requesterId) {
+        return get("/all?cursor={cursor}&size={size}", requesterId, RequestParameters.ofCursor(cursor, size));
+    }
+
+    public Mono<ResponseEntity<Object>> getRequestById(Long requestId, Long requesterId) {
+        return getCached("/" + requestId, requesterId);
     }
 }
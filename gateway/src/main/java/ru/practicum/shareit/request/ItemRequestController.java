@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -10,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
@@ -29,7 +31,7 @@ public class ItemRequestController {
 			content = {@Content(mediaType = "application/json",
 					schema = @Schema(implementation = ItemRequestDto.class))})
 	@PostMapping
-	public ResponseEntity<Object> createRequest(
+	public Mono<ResponseEntity<Object>> createRequest(
 			@Valid @RequestBody ItemRequestDto itemRequestDto,
 			@RequestHeader(name = "X-Sharer-User-Id") Long requesterId
 	) {
@@ -43,7 +45,7 @@ public class ItemRequestController {
 			content = {@Content(mediaType = "application/json",
 					array = @ArraySchema(schema = @Schema(implementation = ItemRequestDto.class)))})
 	@GetMapping
-	public ResponseEntity<Object> getRequestsByRequesterId(
+	public Mono<ResponseEntity<Object>> getRequestsByRequesterId(
 			@RequestHeader(name = "X-Sharer-User-Id") Long requesterId
 	) {
 		log.info("GET /requests");
@@ -56,11 +58,18 @@ public class ItemRequestController {
 			content = {@Content(mediaType = "application/json",
 					array = @ArraySchema(schema = @Schema(implementation = ItemRequestDto.class)))})
 	@GetMapping("/all")
-	public ResponseEntity<Object> getAllRequests(
+	public Mono<ResponseEntity<Object>> getAllRequests(
 			@RequestParam(name = "from", defaultValue = "0") int from,
 			@RequestParam(name = "size", defaultValue = "20") int size,
+			@Parameter(description = "continuation token of the previous page from the X-Next-Cursor header, " +
+					"empty for the first page; replaces from")
+			@RequestParam(name = "cursor", required = false) String cursor,
 			@RequestHeader(name = "X-Sharer-User-Id") Long requesterId
 	) {
+		if (cursor != null) {
+			log.info("GET /requests/all?cursor={}&size={}", cursor, size);
+			return itemRequestClient.getAllRequests(cursor, size, requesterId);
+		}
 		log.info("GET /requests/all?from={}&size={}", from, size);
 		return itemRequestClient.getAllRequests(from, size, requesterId);
 	}
@@ -71,7 +80,7 @@ public class ItemRequestController {
 			content = {@Content(mediaType = "application/json",
 					schema = @Schema(implementation = ItemRequestDto.class))})
 	@GetMapping("/{requestId}")
-	public ResponseEntity<Object> getRequestById(
+	public Mono<ResponseEntity<Object>> getRequestById(
 			@PathVariable Long requestId,
 			@RequestHeader(name = "X-Sharer-User-Id") Long requesterId
 	) {
@@ -1,46 +1,73 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientCaches;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
+    @Nullable
+    private final Cache items;
+    @Nullable
+    private final Cache requests;
+
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, ObjectProvider<WebClient> webClient,
+                      CacheManager cacheManager) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                withBaseUrl(webClient, serverUrl + API_PREFIX),
+                cacheManager.getCache(ClientCaches.USERS)
         );
+        this.items = cacheManager.getCache(ClientCaches.ITEMS);
+        this.requests = cacheManager.getCache(ClientCaches.REQUESTS);
     }
 
-    public ResponseEntity<Object> createUser(UserDto userDto) {
+    public Mono<ResponseEntity<Object>> createUser(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> updateUser(Long userId, UserDto userDto) {
-        return patch("/" + userId, userDto);
+    public Mono<ResponseEntity<Object>> updateUser(Long userId, UserDto userDto) {
+        // comments of cached items of any owner show the name of the user
+        return evicting(patch("/" + userId, userDto), () -> {
+            evict("/" + userId);
+            clear(items);
+        });
     }
 
-    public ResponseEntity<Object> getUserById(Long userId) {
-        return get("/" +  userId);
+    public Mono<ResponseEntity<Object>> getUserById(Long userId) {
+        return getCached("/" + userId, null);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> deleteUser(Long userId) {
-        return delete("/" + userId);
+    public Mono<ResponseEntity<Object>> deleteUser(Long userId) {
+        // items, requests, bookings and comments of the user are deleted with it
+        return evicting(delete("/" + userId), () -> {
+            evict("/" + userId);
+            clear(items);
+            clear(requests);
+        });
     }
 }
@@ -11,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.util.Create;
 import ru.practicum.shareit.util.Update;
@@ -29,7 +30,7 @@ public class UserController {
 			content = {@Content(mediaType = "application/json",
 					schema = @Schema(implementation = UserDto.class))})
 	@PostMapping
-	public ResponseEntity<Object> create(
+	public Mono<ResponseEntity<Object>> create(
 			@Validated(Create.class) @RequestBody UserDto userDto
 	) {
 		log.info("POST /users, create user {}", userDto);
@@ -41,7 +42,7 @@ public class UserController {
 			content = {@Content(mediaType = "application/json",
 					schema = @Schema(implementation = UserDto.class))})
 	@PatchMapping("/{userId}")
-	public ResponseEntity<Object> update(
+	public Mono<ResponseEntity<Object>> update(
 			@Validated(Update.class) @RequestBody UserDto userDto,
 			@PathVariable Long userId
 	) {
@@ -54,7 +55,7 @@ public class UserController {
 			content = {@Content(mediaType = "application/json",
 					schema = @Schema(implementation = UserDto.class))})
 	@GetMapping("/{userId}")
-	public ResponseEntity<Object> getById(@PathVariable Long userId) {
+	public Mono<ResponseEntity<Object>> getById(@PathVariable Long userId) {
 		log.info("GET /users/{}", userId);
 		return userClient.getUserById(userId);
 	}
@@ -64,7 +65,7 @@ public class UserController {
 			content = {@Content(mediaType = "application/json",
 					array = @ArraySchema(schema = @Schema(implementation = UserDto.class)))})
 	@GetMapping
-	public ResponseEntity<Object> getAll() {
+	public Mono<ResponseEntity<Object>> getAll() {
 		log.info("PATCH /users");
 		return userClient.getAllUsers();
 	}
@@ -72,7 +73,7 @@ public class UserController {
 	@Operation(summary = "Delete user by id", description = "Delete user by id")
 	@ApiResponse(responseCode = "204", description = "No content")
 	@DeleteMapping("/{userId}")
-	public ResponseEntity<Object> delete(@PathVariable Long userId) {
+	public Mono<ResponseEntity<Object>> delete(@PathVariable Long userId) {
 		log.info("DELETE /users/{userId}");
 		return userClient.deleteUser(userId);
 	}
@@ -30,4 +30,36 @@ public class RequestParameters {
                 "size", size
         );
     }
+
+    public static Map<String, Object> ofTextPeriod(int from, int size, String text, String start, String end) {
+        return Map.of(
+                "text", text,
+                "from", from,
+                "size", size,
+                "start", (start == null) ? "" : start,
+                "end", (end == null) ? "" : end
+        );
+    }
+
+    public static Map<String, Object> ofPeriod(String from, String to) {
+        return Map.of(
+                "from", (from == null) ? "" : from,
+                "to", (to == null) ? "" : to
+        );
+    }
+
+    public static Map<String, Object> ofCursor(String cursor, int size) {
+        return Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+    }
+
+    public static Map<String, Object> ofStateCursor(String cursor, int size, String state) {
+        return Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size
+        );
+    }
 }
@@ -51,4 +51,47 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.start").value("start cannot be in the past"))
                 .andExpect(jsonPath("$.end").value("end cannot be in the past"));
     }
+
+    @Test
+    @DisplayName("POST create bookings in batch with invalid entries at /bookings/batch")
+    void createBatchValidationByIndex() throws Exception {
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 2)
+                        .content("[{\"itemId\": 1, " +
+                                "\"start\": \"" + now.plusDays(10) + "\", " +
+                                "\"end\": \"" + now.plusDays(20) + "\"}, " +
+                                "{\"itemId\": 1, " +
+                                "\"start\": \"" + now.plusDays(20) + "\", " +
+                                "\"end\": \"" + now.plusDays(10) + "\"}, " +
+                                "{\"itemId\": 1, " +
+                                "\"end\": \"" + now.plusDays(10) + "\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.['bookings[1]']").value("end cannot be after the start"))
+                .andExpect(jsonPath("$.['bookings[2].start']").value("start booking is required"))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("POST create empty batch of bookings at /bookings/batch")
+    void createEmptyBatchValidation() throws Exception {
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 2)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.bookings").value("bookings are required"));
+    }
+
+    @Test
+    @DisplayName("PATCH approve bookings in batch with invalid ids at /bookings/batch")
+    void approveBatchValidationByIndex() throws Exception {
+        mockMvc.perform(patch("/bookings/batch?approved=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 2)
+                        .content("[1, -2, null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.['ids[1]']").value("booking id should be positive"))
+                .andExpect(jsonPath("$.['ids[2]']").value("booking id is required"));
+    }
 }
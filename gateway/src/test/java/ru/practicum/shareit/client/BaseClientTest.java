@@ -0,0 +1,160 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserClient;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@SpringBootTest
+@DirtiesContext
+class BaseClientTest {
+    private static final String ITEM_JSON = "{\"id\": 1, \"name\": \"Item\"}";
+
+    @Autowired
+    private ItemClient itemClient;
+    @Autowired
+    private UserClient userClient;
+    @Autowired
+    private BookingClient bookingClient;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    private MockRestServiceServer itemServer;
+    private MockRestServiceServer userServer;
+    private MockRestServiceServer bookingServer;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        itemServer = MockRestServiceServer.bindTo(itemClient.rest).ignoreExpectOrder(true).build();
+        userServer = MockRestServiceServer.bindTo(userClient.rest).build();
+        bookingServer = MockRestServiceServer.bindTo(bookingClient.rest).build();
+    }
+
+    @Test
+    @DisplayName("Repeated GET of an item by the same user is served from cache")
+    void whenGetItemTwice_thenServerCalledOncePerUser() {
+        // Arrange
+        double hits = cacheHits();
+        itemServer.expect(ExpectedCount.once(), requestTo("http://localhost:9090/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON));
+        itemServer.expect(ExpectedCount.once(), requestTo("http://localhost:9090/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON));
+
+        // Act
+        itemClient.getItemById(1L, 1L).block();
+        itemClient.getItemById(1L, 1L).block();
+        itemClient.getItemById(1L, 2L).block();
+
+        // Asserts
+        itemServer.verify();
+        assertThat(cacheHits() - hits).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Writes through a client evict cached responses")
+    void whenUpdateItemOrDeleteUser_thenCachedItemEvicted() {
+        // Arrange
+        itemServer.expect(ExpectedCount.times(3), requestTo("http://localhost:9090/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON));
+        itemServer.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON));
+        userServer.expect(requestTo("http://localhost:9090/users/1"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withSuccess());
+
+        // Act
+        itemClient.getItemById(1L, 1L).block();
+        itemClient.updateItem(1L, 1L, new ItemDto()).block();
+        itemClient.getItemById(1L, 1L).block();
+        userClient.deleteUser(1L).block();
+        itemClient.getItemById(1L, 1L).block();
+
+        // Asserts
+        itemServer.verify();
+        userServer.verify();
+    }
+
+    @Test
+    @DisplayName("Writes evict only the items they change")
+    void whenUpdateItemOrApproveBooking_thenOtherItemsStayCached() {
+        // Arrange
+        itemServer.expect(ExpectedCount.times(3), requestTo("http://localhost:9090/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON));
+        itemServer.expect(ExpectedCount.once(), requestTo("http://localhost:9090/items/2"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON));
+        itemServer.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON));
+        bookingServer.expect(requestTo("http://localhost:9090/bookings/5?approved=true"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"id\": 5, \"item\": {\"id\": 1}}", MediaType.APPLICATION_JSON));
+
+        // Act
+        itemClient.getItemById(1L, 1L).block();
+        itemClient.getItemById(2L, 1L).block();
+        itemClient.updateItem(1L, 1L, new ItemDto()).block();
+        itemClient.getItemById(1L, 1L).block();
+        itemClient.getItemById(2L, 1L).block();
+        bookingClient.approveBooking(1L, 5L, true).block();
+        itemClient.getItemById(1L, 1L).block();
+        itemClient.getItemById(2L, 1L).block();
+
+        // Asserts
+        itemServer.verify();
+        bookingServer.verify();
+    }
+
+    @Test
+    @DisplayName("Server response body is passed through as bytes with its headers")
+    void whenGetItem_thenServerBytesAndHeadersPassedThrough() {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "next");
+        itemServer.expect(requestTo("http://localhost:9090/items?from=0&size=20"))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON).headers(headers));
+
+        // Act
+        ResponseEntity<Object> response = itemClient.getAllByOwnerId(0, 20, 1L).block();
+
+        // Asserts
+        assertThat(response).isNotNull();
+        assertThat(response.getBody()).isEqualTo(ITEM_JSON.getBytes(StandardCharsets.UTF_8));
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("next");
+    }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", ClientCaches.ITEMS, "result", "hit")
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemClient;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+class BlockingResponseTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ItemClient itemClient;
+    @Autowired
+    private CacheManager cacheManager;
+    private MockRestServiceServer itemServer;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        itemServer = MockRestServiceServer.bindTo(itemClient.rest).build();
+    }
+
+    @Test
+    @DisplayName("Controller response is written without async handling in the blocking mode")
+    void whenGetItems_thenSyncResponseWithHeaders() throws Exception {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "next");
+        itemServer.expect(requestTo("http://localhost:9090/items?from=0&size=20"))
+                .andRespond(withSuccess("[{\"id\": 1}]", MediaType.APPLICATION_JSON).headers(headers));
+
+        // Act
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", 1))
+                // Asserts
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$[0].id").value(1));
+        itemServer.verify();
+    }
+
+    @Test
+    @DisplayName("Server error status and body are passed through in the blocking mode")
+    void whenServerRespondsNotFound_thenSameStatusAndBody() throws Exception {
+        // Arrange
+        itemServer.expect(requestTo("http://localhost:9090/items/404"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\": \"not found\"}"));
+
+        // Act
+        mockMvc.perform(get("/items/404").header("X-Sharer-User-Id", 1))
+                // Asserts
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("not found"));
+        itemServer.verify();
+    }
+}
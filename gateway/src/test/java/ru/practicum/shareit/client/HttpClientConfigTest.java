@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "shareit-server.http-client.max-total=50",
+        "shareit-server.http-client.max-per-route=20"
+})
+class HttpClientConfigTest {
+    @Autowired
+    private PoolingHttpClientConnectionManager connectionManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Connection pool is sized by properties and reports its limits")
+    void whenContextLoads_thenPoolConfiguredAndMeasured() {
+        // Asserts
+        assertThat(connectionManager.getMaxTotal()).isEqualTo(50);
+        assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(20);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value())
+                .isEqualTo(50);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.route.max.default").gauge().value())
+                .isEqualTo(20);
+    }
+}
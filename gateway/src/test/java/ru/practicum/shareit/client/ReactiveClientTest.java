@@ -0,0 +1,127 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.booking.BookingClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "shareit-server.http-client.mode=reactive")
+@AutoConfigureMockMvc
+class ReactiveClientTest {
+    private static final int CONCURRENT_REQUESTS = 100;
+    private static final Duration SERVER_DELAY = Duration.ofMillis(300);
+    private static final ExecutorService SERVER_EXECUTOR = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+    private static HttpServer server;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookingClient bookingClient;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS);
+        server.setExecutor(SERVER_EXECUTOR);
+        server.createContext("/bookings", ReactiveClientTest::handle);
+        server.start();
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+        SERVER_EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Controller response is proxied asynchronously with server headers")
+    void whenGetBookings_thenAsyncResponseWithHeaders() throws Exception {
+        MvcResult result = mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    @DisplayName("Server error status and body are passed through")
+    void whenServerRespondsNotFound_thenSameStatusAndBody() {
+        // Act
+        ResponseEntity<Object> response = bookingClient.getBookingByOwnerId(1L, 404L).block();
+
+        // Asserts
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"error\": \"not found\"}");
+    }
+
+    @Test
+    @DisplayName("Slow server requests are in flight concurrently without a thread per request")
+    void whenManyConcurrentRequests_thenCompleteInAboutOneServerDelay() {
+        // Act
+        long started = System.nanoTime();
+        List<ResponseEntity<Object>> responses = Flux.range(0, CONCURRENT_REQUESTS)
+                .flatMap(i -> bookingClient.getBookingsByStateOfBooker(0, 20, (long) i, "ALL"), CONCURRENT_REQUESTS)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        // Asserts
+        assertThat(responses).hasSize(CONCURRENT_REQUESTS);
+        assertThat(responses).allMatch(r -> r.getStatusCode() == HttpStatus.OK);
+        assertThat(elapsed).isLessThan(SERVER_DELAY.multipliedBy(CONCURRENT_REQUESTS / 10));
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        byte[] body;
+        int status;
+        if (exchange.getRequestURI().getPath().endsWith("/404")) {
+            status = 404;
+            body = "{\"error\": \"not found\"}".getBytes(StandardCharsets.UTF_8);
+        } else {
+            try {
+                Thread.sleep(SERVER_DELAY.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            status = 200;
+            body = "[{\"id\": 1}]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("X-Next-Cursor", "next");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Immutable;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// booking ended long ago, moved out of the bookings table by the archiver with its id and columns unchanged
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "bookings_archive", schema = "public")
+public class ArchivedBooking {
+    @Id
+    @Column(name = "id")
+    Long id;
+
+    @Column(name = "start_at", nullable = false)
+    LocalDateTime start;
+
+    @Column(name = "end_at", nullable = false)
+    LocalDateTime end;
+
+    @Column(name = "created")
+    LocalDateTime created;
+
+    @ManyToOne
+    @JoinColumn(name = "item_id", referencedColumnName = "id")
+    Item item;
+
+    @ManyToOne
+    @JoinColumn(name = "booker_id", referencedColumnName = "id")
+    User booker;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", referencedColumnName = "id")
+    User owner;
+
+    @Enumerated(EnumType.STRING)
+    BookingStatus status;
+
+    @Column(name = "version", nullable = false)
+    long version;
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingStatusCountDto;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+    String SELECT_ADVANCED_DTO = BookingRepository.ADVANCED_DTO + "from ArchivedBooking" +
+            BookingRepository.ADVANCED_DTO_JOINS;
+
+    @Query("select case when count(b) > 0 then true else false end from ArchivedBooking b " +
+            "where b.item.id = :itemId and b.booker.id = :bookerId")
+    boolean existsByItem_IdAndBooker_Id(@Param("itemId") Long itemId, @Param("bookerId") Long bookerId);
+
+    @Query("select b from ArchivedBooking b " +
+            "where b.item.id = :itemId and b.booker.id = :bookerId and b.status = :status " +
+            "order by b.start ASC")
+    List<ArchivedBooking> findByItemIdAndBookerIdAndStatus(
+            @Param("itemId") Long itemId,
+            @Param("bookerId") Long bookerId,
+            @Param("status") BookingStatus status,
+            Pageable pageable
+    );
+
+    default Optional<ArchivedBooking> findFirstByItem_IdAndBooker_IdAndStatusOrderByStartAsc(
+            Long itemId, Long bookerId, BookingStatus status
+    ) {
+        return findByItemIdAndBookerIdAndStatus(itemId, bookerId, status, PageRequest.of(0, 1)).stream().findFirst();
+    }
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingStatusCountDto(b.status, count(b)) " +
+            "from ArchivedBooking b where b.booker.id = :id group by b.status")
+    List<BookingStatusCountDto> countByBookerIdGroupByStatus(@Param("id") Long id);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingStatusCountDto(b.status, count(b)) " +
+            "from ArchivedBooking b where b.owner.id = :id group by b.status")
+    List<BookingStatusCountDto> countByOwnerIdGroupByStatus(@Param("id") Long id);
+}
@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 @Table(name = "bookings", schema = "public")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     @Column(name = "id")
     Long id;
 
@@ -42,6 +43,15 @@ public class Booking {
     @JoinColumn(name = "booker_id", referencedColumnName = "id")
     User booker;
 
+    // owner of the item, copied on create to filter owner bookings without a join
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", referencedColumnName = "id")
+    User owner;
+
     @Enumerated(EnumType.STRING)
     BookingStatus status;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    long version;
 }
@@ -3,18 +3,24 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingAdvancedDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
 public class BookingController {
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final BookingService bookingService;
 
     @PostMapping
@@ -27,6 +33,16 @@ public class BookingController {
         return bookingService.create(bookingDto, bookerId);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<BookingBatchResultDto> createBatch(
+            @RequestBody List<BookingDto> bookingDtos,
+            @RequestHeader(name = "X-Sharer-User-Id") Long bookerId
+    ) {
+        log.info("POST /bookings/batch of {} bookings", bookingDtos.size());
+        return bookingService.createAll(bookingDtos, bookerId);
+    }
+
     @PatchMapping("/{bookingId}")
     @ResponseStatus(HttpStatus.OK)
     public BookingAdvancedDto approve(
@@ -38,6 +54,17 @@ public class BookingController {
         return bookingService.approve(ownerId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<BookingBatchResultDto> approveBatch(
+            @RequestHeader(name = "X-Sharer-User-Id") Long ownerId,
+            @RequestParam boolean approved,
+            @RequestBody List<Long> bookingIds
+    ) {
+        log.info("PATCH /bookings/batch?approved={} of {} bookings", approved, bookingIds.size());
+        return bookingService.approveAll(ownerId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
     @ResponseStatus(HttpStatus.OK)
     public BookingAdvancedDto getById(
@@ -49,27 +76,67 @@ public class BookingController {
     }
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<BookingAdvancedDto> getBookingsByStateOfBooker(
+    public ResponseEntity<List<BookingAdvancedDto>> getBookingsByStateOfBooker(
             @RequestHeader(name = "X-Sharer-User-Id") Long bookerId,
             @RequestParam(name = "state", required = false, defaultValue = "ALL") String state,
             @RequestParam(name = "from", defaultValue = "0") int from,
-            @RequestParam(name = "size", defaultValue = "20") int size
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "cursor", required = false) String cursor
     ) {
-        log.info("GET /bookings?state={}&from{}&size{}", state, from, size);
-        return bookingService.getAllOfBookerByState(from, size, bookerId, state);
+        ResponseEntity<List<BookingAdvancedDto>> response;
+        if (cursor != null) {
+            log.info("GET /bookings?state={}&cursor={}&size={}", state, cursor, size);
+            response = bookingService.getPageOfBookerByState(cursor, size, bookerId, state).toResponseEntity();
+        } else {
+            log.info("GET /bookings?state={}&from{}&size{}", state, from, size);
+            response = ResponseEntity.ok(bookingService.getAllOfBookerByState(from, size, bookerId, state));
+        }
+        return withTotalCount(response, bookingService.getCountsOfBooker(bookerId).get(BookingState.from(state)));
     }
 
     @GetMapping("/owner")
-    @ResponseStatus(HttpStatus.OK)
-    public List<BookingAdvancedDto> getBookingsByStateOfOwner(
+    public ResponseEntity<List<BookingAdvancedDto>> getBookingsByStateOfOwner(
             @RequestHeader(name = "X-Sharer-User-Id") Long ownerId,
             @RequestParam(name = "state", required = false, defaultValue = "ALL") String state,
             @RequestParam(name = "from", defaultValue = "0") int from,
-            @RequestParam(name = "size", defaultValue = "20") int size
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "cursor", required = false) String cursor
+    ) {
+        ResponseEntity<List<BookingAdvancedDto>> response;
+        if (cursor != null) {
+            log.info("GET /bookings/owner?state={}&cursor={}&size={}", state, cursor, size);
+            response = bookingService.getPageOfOwnerByState(cursor, size, ownerId, state).toResponseEntity();
+        } else {
+            log.info("GET /bookings/owner?state={}&from{}&size{}", state, from, size);
+            response = ResponseEntity.ok(bookingService.getAllOfOwnerByState(from, size, ownerId, state));
+        }
+        return withTotalCount(response, bookingService.getCountsOfOwner(ownerId).get(BookingState.from(state)));
+    }
+
+    @GetMapping("/counts")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<BookingState, Long> getCountsOfBooker(
+            @RequestHeader(name = "X-Sharer-User-Id") Long bookerId
+    ) {
+        log.info("GET /bookings/counts");
+        return bookingService.getCountsOfBooker(bookerId);
+    }
+
+    @GetMapping("/owner/counts")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<BookingState, Long> getCountsOfOwner(
+            @RequestHeader(name = "X-Sharer-User-Id") Long ownerId
+    ) {
+        log.info("GET /bookings/owner/counts");
+        return bookingService.getCountsOfOwner(ownerId);
+    }
 
+    private static ResponseEntity<List<BookingAdvancedDto>> withTotalCount(
+            ResponseEntity<List<BookingAdvancedDto>> response, Long totalCount
     ) {
-        log.info("GET /bookings/owner?state={}&from{}&size{}", state, from, size);
-        return bookingService.getAllOfOwnerByState(from, size, ownerId, state);
+        return ResponseEntity.ok()
+                .headers(response.getHeaders())
+                .header(TOTAL_COUNT_HEADER, String.valueOf(totalCount))
+                .body(response.getBody());
     }
 }
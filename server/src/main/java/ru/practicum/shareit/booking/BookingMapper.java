@@ -19,12 +19,27 @@ public class BookingMapper {
         return Booking.builder()
                 .item(item)
                 .booker(booker)
+                .owner(item.getOwner())
                 .status(bookingStatus)
                 .start(bookingDto.getStart())
                 .end(bookingDto.getEnd())
                 .build();
     }
 
+    public static Booking toBooking(ArchivedBooking archivedBooking) {
+        return Booking.builder()
+                .id(archivedBooking.getId())
+                .item(archivedBooking.getItem())
+                .booker(archivedBooking.getBooker())
+                .owner(archivedBooking.getOwner())
+                .status(archivedBooking.getStatus())
+                .start(archivedBooking.getStart())
+                .end(archivedBooking.getEnd())
+                .created(archivedBooking.getCreated())
+                .version(archivedBooking.getVersion())
+                .build();
+    }
+
     public static BookingAdvancedDto toBookingAdvancedDto(Booking booking) {
         return BookingAdvancedDto.builder()
                 .id(booking.getId())
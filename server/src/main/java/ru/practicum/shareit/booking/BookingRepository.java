@@ -1,53 +1,194 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingAdvancedDto;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.dto.BookingOwnerStatusDto;
 import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingStatusCountDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBooker_IdOrderByEndDesc(Long id, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    String ADVANCED_DTO = "select new ru.practicum.shareit.booking.dto.BookingAdvancedDto(" +
+            "b.id, b.status, b.start, b.end, " +
+            "u.id, u.name, u.email, " +
+            "i.id, i.name, i.description, i.available, r.id) ";
+    String ADVANCED_DTO_JOINS = " b join b.booker u join b.item i left join i.itemRequest r ";
+    String SELECT_ADVANCED_DTO = ADVANCED_DTO + "from Booking" + ADVANCED_DTO_JOINS;
 
-    List<Booking> findByBooker_IdAndEndLessThanOrderByEndDesc(Long id, LocalDateTime now, Pageable pageable);
+    @Query(SELECT_ADVANCED_DTO +
+            "where b.booker.id = :id " +
+            "order by b.end DESC")
+    List<BookingAdvancedDto> findByBooker_IdOrderByEndDesc(@Param("id") Long id, Pageable pageable);
 
-    @Query("select b from Booking b " +
+    @Query(SELECT_ADVANCED_DTO +
+            "where b.booker.id = :id and b.end < :now " +
+            "order by b.end DESC")
+    List<BookingAdvancedDto> findByBooker_IdAndEndLessThanOrderByEndDesc(
+            @Param("id") Long id, @Param("now") LocalDateTime now, Pageable pageable
+    );
+
+    @Query(SELECT_ADVANCED_DTO +
             "where b.booker.id = :id and :now between b.start and b.end " +
             "order by b.end DESC")
-    List<Booking> findAllByBookerIdCurrent(@Param("id") Long id, @Param("now") LocalDateTime now, Pageable pageable);
+    List<BookingAdvancedDto> findAllByBookerIdCurrent(
+            @Param("id") Long id, @Param("now") LocalDateTime now, Pageable pageable
+    );
+
+    @Query(SELECT_ADVANCED_DTO +
+            "where b.booker.id = :id and b.start > :now " +
+            "order by b.end DESC")
+    List<BookingAdvancedDto> findByBooker_IdAndStartGreaterThanOrderByEndDesc(
+            @Param("id") Long id, @Param("now") LocalDateTime now, Pageable pageable
+    );
+
+    @Query(SELECT_ADVANCED_DTO +
+            "where b.booker.id = :id and b.status = :status " +
+            "order by b.end DESC")
+    List<BookingAdvancedDto> findByBooker_IdAndStatusOrderByEndDesc(
+            @Param("id") Long id, @Param("status") BookingStatus status, Pageable pageable
+    );
+
+    @Query(SELECT_ADVANCED_DTO +
+            "where b.owner.id = :id " +
+            "order by b.end DESC")
+    List<BookingAdvancedDto> findByOwner_IdOrderByEndDesc(@Param("id") Long id, Pageable pageable);
 
-    List<Booking> findByBooker_IdAndStartGreaterThanOrderByEndDesc(Long id, LocalDateTime now, Pageable pageable);
+    @Query(SELECT_ADVANCED_DTO +
+            "where b.owner.id = :id and b.end < :now " +
+            "order by b.end DESC")
+    List<BookingAdvancedDto> findByOwner_IdAndEndLessThanOrderByEndDesc(
+            @Param("id") Long id, @Param("now") LocalDateTime end, Pageable pageable
+    );
+
+    @Query(SELECT_ADVANCED_DTO +
+            "where b.owner.id = :id and :now between b.start and b.end " +
+            "order by b.end DESC")
+    List<BookingAdvancedDto> findAllByOwnerIdCurrent(
+            @Param("id") Long id, @Param("now") LocalDateTime now, Pageable pageable
+    );
 
-    List<Booking> findByBooker_IdAndStatusOrderByEndDesc(Long id, BookingStatus status, Pageable pageable);
+    @Query(SELECT_ADVANCED_DTO +
+            "where b.owner.id = :id and b.start > :now " +
+            "order by b.end DESC")
+    List<BookingAdvancedDto> findByOwner_IdAndStartGreaterThanOrderByEndDesc(
+            @Param("id") Long id, @Param("now") LocalDateTime now, Pageable pageable
+    );
 
-    List<Booking> findByItem_Owner_IdOrderByEndDesc(Long id, Pageable pageable);
+    @Query(SELECT_ADVANCED_DTO +
+            "where b.owner.id = :id and b.status = :status " +
+            "order by b.end DESC")
+    List<BookingAdvancedDto> findByOwner_IdAndStatusOrderByEndDesc(
+            @Param("id") Long id, @Param("status") BookingStatus status, Pageable pageable
+    );
 
-    List<Booking> findByItem_Owner_IdAndEndLessThanOrderByEndDesc(Long id, LocalDateTime end, Pageable pageable);
+    @Query("select b from Booking b " +
+            "where b.item.id = :id and b.end <= :now " +
+            "order by b.end DESC")
+    List<Booking> findByItemIdAndEndBefore(@Param("id") Long id, @Param("now") LocalDateTime now, Pageable pageable);
 
     @Query("select b from Booking b " +
-            "where b.item.owner.id  = :id and :now between b.start and b.end " +
+            "where b.item.id = :id and b.end >= :now " +
             "order by b.end DESC")
-    List<Booking> findAllByOwnerIdCurrent(@Param("id") Long id, @Param("now") LocalDateTime now, Pageable pageable);
+    List<Booking> findByItemIdAndEndAfter(@Param("id") Long id, @Param("now") LocalDateTime now, Pageable pageable);
 
-    List<Booking> findByItem_Owner_IdAndStartGreaterThanOrderByEndDesc(Long id, LocalDateTime now, Pageable pageable);
+    default Optional<Booking> findFirstByItem_IdAndEndLessThanEqualOrderByEndDesc(Long id, LocalDateTime now) {
+        return findByItemIdAndEndBefore(id, now, PageRequest.of(0, 1)).stream().findFirst();
+    }
 
-    List<Booking> findByItem_Owner_IdAndStatusOrderByEndDesc(Long id, BookingStatus status, Pageable pageable);
+    default Optional<Booking> findFirstByItem_IdAndEndGreaterThanEqualOrderByEndDesc(Long id, LocalDateTime now) {
+        return findByItemIdAndEndAfter(id, now, PageRequest.of(0, 1)).stream().findFirst();
+    }
+
+    @Query("select b from Booking b " +
+            "join fetch b.item i " +
+            "join fetch b.booker " +
+            "where i.id in :ids " +
+            "and (b.end = (select max(l.end) from Booking l where l.item = i and l.end <= :now) " +
+            "    or b.end = (select max(n.end) from Booking n where n.item = i and n.end >= :now)) " +
+            "order by b.id")
+    List<Booking> findLastAndNextByItemIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("select case when count(b) > 0 then true else false end from Booking b " +
+            "where b.item.id = :itemId and b.booker.id = :bookerId")
+    boolean existsByItem_IdAndBooker_Id(@Param("itemId") Long itemId, @Param("bookerId") Long bookerId);
 
-    Optional<Booking> findFirstByItem_IdAndEndLessThanEqualOrderByEndDesc(
-            Long id, LocalDateTime now
+    @Query("select b from Booking b " +
+            "where b.item.id = :itemId and b.booker.id = :bookerId and b.status = :status " +
+            "order by b.start ASC")
+    List<Booking> findByItemIdAndBookerIdAndStatus(
+            @Param("itemId") Long itemId,
+            @Param("bookerId") Long bookerId,
+            @Param("status") BookingStatus status,
+            Pageable pageable
     );
 
-    Optional<Booking> findFirstByItem_IdAndEndGreaterThanEqualOrderByEndDesc(
-            Long id, LocalDateTime now
+    default Optional<Booking> findFirstByItem_IdAndBooker_IdAndStatusOrderByStartAsc(
+            Long itemId, Long bookerId, BookingStatus status
+    ) {
+        return findByItemIdAndBookerIdAndStatus(itemId, bookerId, status, PageRequest.of(0, 1)).stream().findFirst();
+    }
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingOwnerStatusDto(" +
+            "b.id, b.owner.id, b.status, b.item.id, b.start, b.end, b.booker.id) " +
+            "from Booking b where b.id in :ids")
+    List<BookingOwnerStatusDto> findOwnerAndStatusByIds(@Param("ids") Collection<Long> ids);
+
+    // repeats the owner and status checks, so bookings changed since they were read are not updated
+    @Modifying
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id in :ids and b.owner.id = :ownerId " +
+            "and b.status = ru.practicum.shareit.booking.dto.BookingStatus.WAITING")
+    int updateStatusOfWaiting(
+            @Param("ids") Collection<Long> ids,
+            @Param("ownerId") Long ownerId,
+            @Param("status") BookingStatus status
     );
 
-    boolean existsByItem_IdAndBooker_Id(Long itemId, Long bookerId);
+    // [start, end) intervals, bookings that only touch do not overlap
+    @Query("select new ru.practicum.shareit.booking.dto.BookingIntervalDto(b.id, b.item.id, b.start, b.end) " +
+            "from Booking b " +
+            "where b.item.id in :itemIds and b.end > :start and b.start < :end " +
+            "and b.status = ru.practicum.shareit.booking.dto.BookingStatus.APPROVED")
+    List<BookingIntervalDto> findApprovedOverlapping(
+            @Param("itemIds") Collection<Long> itemIds,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
 
-    Optional<Booking> findFirstByItem_IdAndBooker_IdAndStatusOrderByStartAsc(
-            Long itemId, Long bookerId, BookingStatus status
+    @Query("select new ru.practicum.shareit.booking.dto.BookingIntervalDto(b.id, b.item.id, b.start, b.end) " +
+            "from Booking b " +
+            "where b.item.id = :itemId and b.end > :after " +
+            "and b.status = ru.practicum.shareit.booking.dto.BookingStatus.APPROVED")
+    List<BookingIntervalDto> findApprovedByItemIdEndingAfter(
+            @Param("itemId") Long itemId, @Param("after") LocalDateTime after
     );
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingStatusCountDto(b.status, count(b)) " +
+            "from Booking b where b.booker.id = :id group by b.status")
+    List<BookingStatusCountDto> countByBookerIdGroupByStatus(@Param("id") Long id);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingStatusCountDto(b.status, count(b)) " +
+            "from Booking b where b.owner.id = :id group by b.status")
+    List<BookingStatusCountDto> countByOwnerIdGroupByStatus(@Param("id") Long id);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingIntervalDto(b.id, b.item.id, b.start, b.end) " +
+            "from Booking b where b.booker.id = :id and b.end >= :now")
+    List<BookingIntervalDto> findNotEndedByBookerId(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingIntervalDto(b.id, b.item.id, b.start, b.end) " +
+            "from Booking b where b.owner.id = :id and b.end >= :now")
+    List<BookingIntervalDto> findNotEndedByOwnerId(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query(SELECT_ADVANCED_DTO + "where b.id in :ids")
+    List<BookingAdvancedDto> findAllByIdIn(@Param("ids") Collection<Long> ids);
 }
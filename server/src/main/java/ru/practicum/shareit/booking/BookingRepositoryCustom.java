@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingAdvancedDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    List<BookingAdvancedDto> findPageOfBookerByState(
+            Long bookerId, BookingState state, LocalDateTime now, KeysetCursor after, int limit
+    );
+
+    List<BookingAdvancedDto> findPageOfOwnerByState(
+            Long ownerId, BookingState state, LocalDateTime now, KeysetCursor after, int limit
+    );
+
+    // pages of bookings moved to the archive, they go on after the hot pages of the same state
+    List<BookingAdvancedDto> findArchivedPageOfBookerByState(
+            Long bookerId, BookingState state, KeysetCursor after, int offset, int limit
+    );
+
+    List<BookingAdvancedDto> findArchivedPageOfOwnerByState(
+            Long ownerId, BookingState state, KeysetCursor after, int offset, int limit
+    );
+
+    long countOfBookerByState(Long bookerId, BookingState state, LocalDateTime now);
+
+    long countOfOwnerByState(Long ownerId, BookingState state, LocalDateTime now);
+
+    // moves up to limit bookings ended before the given time to bookings_archive, returns the number moved
+    int archiveEndedBefore(LocalDateTime before, int limit);
+}
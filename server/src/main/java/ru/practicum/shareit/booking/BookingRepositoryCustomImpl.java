@@ -0,0 +1,172 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingAdvancedDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// keyset pages ordered by (end, id) desc, the next page seeks past the cursor instead of skipping rows
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    private static final String SELECT_ENDED_SQL = "SELECT id FROM bookings WHERE end_at < ? " +
+            "ORDER BY end_at LIMIT ? FOR UPDATE";
+    private static final String ARCHIVED_COLUMNS = "id, start_at, end_at, item_id, booker_id, owner_id, status, " +
+            "created, version";
+    private static final String ARCHIVE_SQL = "INSERT INTO bookings_archive (" + ARCHIVED_COLUMNS + ") " +
+            "SELECT " + ARCHIVED_COLUMNS + " FROM bookings WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM bookings WHERE id = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<BookingAdvancedDto> findPageOfBookerByState(
+            Long bookerId, BookingState state, LocalDateTime now, KeysetCursor after, int limit
+    ) {
+        return findPageByState(
+                BookingRepository.SELECT_ADVANCED_DTO, "b.booker.id", bookerId, state, now, after, 0, limit
+        );
+    }
+
+    @Override
+    public List<BookingAdvancedDto> findPageOfOwnerByState(
+            Long ownerId, BookingState state, LocalDateTime now, KeysetCursor after, int limit
+    ) {
+        return findPageByState(
+                BookingRepository.SELECT_ADVANCED_DTO, "b.owner.id", ownerId, state, now, after, 0, limit
+        );
+    }
+
+    @Override
+    public List<BookingAdvancedDto> findArchivedPageOfBookerByState(
+            Long bookerId, BookingState state, KeysetCursor after, int offset, int limit
+    ) {
+        return findArchivedPageByState("b.booker.id", bookerId, state, after, offset, limit);
+    }
+
+    @Override
+    public List<BookingAdvancedDto> findArchivedPageOfOwnerByState(
+            Long ownerId, BookingState state, KeysetCursor after, int offset, int limit
+    ) {
+        return findArchivedPageByState("b.owner.id", ownerId, state, after, offset, limit);
+    }
+
+    @Override
+    public long countOfBookerByState(Long bookerId, BookingState state, LocalDateTime now) {
+        return countByState("b.booker.id", bookerId, state, now);
+    }
+
+    @Override
+    public long countOfOwnerByState(Long ownerId, BookingState state, LocalDateTime now) {
+        return countByState("b.owner.id", ownerId, state, now);
+    }
+
+    // archived bookings have all ended, there are no current or future ones
+    private List<BookingAdvancedDto> findArchivedPageByState(
+            String userPath, Long userId, BookingState state, KeysetCursor after, int offset, int limit
+    ) {
+        if (state == BookingState.CURRENT || state == BookingState.FUTURE) {
+            return List.of();
+        }
+        BookingState archivedState = (state == BookingState.PAST) ? BookingState.ALL : state;
+        return findPageByState(
+                ArchivedBookingRepository.SELECT_ADVANCED_DTO, userPath, userId, archivedState, null, after,
+                offset, limit
+        );
+    }
+
+    private List<BookingAdvancedDto> findPageByState(
+            String select, String userPath, Long userId, BookingState state, LocalDateTime now, KeysetCursor after,
+            int offset, int limit
+    ) {
+        StringBuilder jpql = new StringBuilder(select);
+        appendWhere(jpql, userPath, state, after);
+        jpql.append(" order by b.end desc, b.id desc");
+
+        TypedQuery<BookingAdvancedDto> query = entityManager.createQuery(jpql.toString(), BookingAdvancedDto.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit);
+        setParameters(query, userId, state, now, after);
+        return query.getResultList();
+    }
+
+    private long countByState(String userPath, Long userId, BookingState state, LocalDateTime now) {
+        StringBuilder jpql = new StringBuilder("select count(b) from Booking b ");
+        appendWhere(jpql, userPath, state, null);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        setParameters(query, userId, state, now, null);
+        return query.getSingleResult();
+    }
+
+    private static void appendWhere(StringBuilder jpql, String userPath, BookingState state, KeysetCursor after) {
+        jpql.append("where ").append(userPath).append(" = :userId");
+        switch (state) {
+            case ALL:
+                break;
+            case CURRENT:
+                jpql.append(" and :now between b.start and b.end");
+                break;
+            case PAST:
+                jpql.append(" and b.end < :now");
+                break;
+            case FUTURE:
+                jpql.append(" and b.start > :now");
+                break;
+            default:
+                jpql.append(" and b.status = :status");
+        }
+        if (after != null) {
+            jpql.append(" and b.end <= :afterEnd and (b.end < :afterEnd or b.id < :afterId)");
+        }
+    }
+
+    private static void setParameters(
+            Query query, Long userId, BookingState state, LocalDateTime now, KeysetCursor after
+    ) {
+        query.setParameter("userId", userId);
+        switch (state) {
+            case ALL:
+                break;
+            case CURRENT:
+            case PAST:
+            case FUTURE:
+                query.setParameter("now", now);
+                break;
+            default:
+                query.setParameter("status", BookingStatus.valueOf(state.name()));
+        }
+        if (after != null) {
+            query.setParameter("afterEnd", after.getTime()).setParameter("afterId", after.getId());
+        }
+    }
+
+    // rows are locked until the move commits, archivers of other servers wait and skip them
+    @Override
+    @Transactional
+    public int archiveEndedBefore(LocalDateTime before, int limit) {
+        List<Object[]> ids = jdbcTemplate.queryForList(SELECT_ENDED_SQL, Long.class, Timestamp.valueOf(before), limit)
+                .stream()
+                .map(id -> new Object[]{id})
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(ARCHIVE_SQL, ids);
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids);
+        return ids.size();
+    }
+}
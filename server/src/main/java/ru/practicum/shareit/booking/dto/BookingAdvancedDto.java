@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
@@ -11,6 +13,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @Builder
+@AllArgsConstructor(onConstructor_ = @JsonCreator)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class BookingAdvancedDto {
     Long id;
@@ -24,4 +27,29 @@ public class BookingAdvancedDto {
     UserDto booker;
 
     ItemDto item;
+
+    // flat constructor for JPQL projections of booking lists
+    public BookingAdvancedDto(
+            Long id,
+            BookingStatus status,
+            LocalDateTime start,
+            LocalDateTime end,
+            Long bookerId,
+            String bookerName,
+            String bookerEmail,
+            Long itemId,
+            String itemName,
+            String itemDescription,
+            Boolean itemAvailable,
+            Long itemRequestId
+    ) {
+        this(
+                id,
+                status,
+                start,
+                end,
+                new UserDto(bookerId, bookerName, bookerEmail),
+                new ItemDto(itemId, itemName, itemDescription, itemAvailable, itemRequestId)
+        );
+    }
 }
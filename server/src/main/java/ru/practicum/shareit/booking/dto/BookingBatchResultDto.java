@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpStatus;
+
+// result of one entry of a batch, by its index in the request
+@Getter
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingBatchResultDto {
+    int index;
+
+    int status;
+
+    BookingAdvancedDto booking;
+
+    String error;
+
+    // same status as the single POST and PATCH /bookings
+    public static BookingBatchResultDto succeeded(int index, BookingAdvancedDto booking) {
+        return BookingBatchResultDto.builder()
+                .index(index)
+                .status(HttpStatus.OK.value())
+                .booking(booking)
+                .build();
+    }
+
+    public static BookingBatchResultDto failed(int index, HttpStatus status, String error) {
+        return BookingBatchResultDto.builder()
+                .index(index)
+                .status(status.value())
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingOwnerStatusDto {
+    Long id;
+
+    Long ownerId;
+
+    BookingStatus status;
+
+    Long itemId;
+
+    LocalDateTime start;
+
+    LocalDateTime end;
+
+    Long bookerId;
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Approved bookings of items by start. Approved bookings of one item do not overlap, so only the latest one
+ * starting before the end of a booking can overlap it, a check is one TreeMap lookup.
+ */
+class ApprovedIntervals {
+    private final Map<Long, NavigableMap<LocalDateTime, BookingIntervalDto>> itemIntervals = new HashMap<>();
+
+    ApprovedIntervals(Collection<BookingIntervalDto> approved) {
+        approved.forEach(this::add);
+    }
+
+    Optional<BookingIntervalDto> findOverlapping(Long itemId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, BookingIntervalDto> intervals = itemIntervals.get(itemId);
+        if (intervals == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(intervals.lowerEntry(end))
+                .map(Map.Entry::getValue)
+                .filter(i -> i.getEnd().isAfter(start));
+    }
+
+    // overlaps approved before the check existed keep the longest one of the same start
+    void add(BookingIntervalDto interval) {
+        itemIntervals.computeIfAbsent(interval.getItemId(), id -> new TreeMap<>())
+                .merge(interval.getStart(), interval, (a, b) -> (a.getEnd().isAfter(b.getEnd())) ? a : b);
+    }
+}
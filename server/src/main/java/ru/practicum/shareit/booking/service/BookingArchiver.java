@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves bookings ended more than the retention period ago from the bookings table to bookings_archive, so the
+ * table and its indexes keep only the bookings that are still used. Lists of bookings go on in the archive when
+ * they run out of hot ones.
+ */
+@Slf4j
+@Component
+public class BookingArchiver {
+    static final int BATCH_SIZE = 500;
+
+    private final BookingRepository bookingRepository;
+    private final int archiveAfterDays;
+
+    public BookingArchiver(
+            BookingRepository bookingRepository,
+            @Value("${shareit.bookings.archive-after-days:365}") int archiveAfterDays
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.archiveAfterDays = archiveAfterDays;
+    }
+
+    // every batch commits on its own, locks are short and an interrupted run loses nothing
+    @Scheduled(fixedDelayString = "${shareit.bookings.archive-delay-millis:3600000}",
+            initialDelayString = "${shareit.bookings.archive-delay-millis:3600000}")
+    public int archive() {
+        LocalDateTime before = LocalDateTime.now().minusDays(archiveAfterDays);
+        int archived = 0;
+        int moved;
+        do {
+            moved = bookingRepository.archiveEndedBefore(before, BATCH_SIZE);
+            archived += moved;
+        } while (moved == BATCH_SIZE);
+        if (archived > 0) {
+            log.info("archived {} bookings ended before {}", archived, before);
+        }
+        return archived;
+    }
+}
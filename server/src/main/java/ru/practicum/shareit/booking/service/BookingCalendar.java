@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.util.ExpireAfterLoad;
+import ru.practicum.shareit.util.TransactionHooks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Approved bookings of items by start, loaded from the DB on the first request for an item and kept up to date
+ * by approvals of this server. Approvals of other servers are seen after the calendar expires.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingCalendar {
+    private static final int MAX_ITEMS = 10_000;
+    private static final Duration EXPIRE_AFTER_LOAD = Duration.ofMinutes(10);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, NavigableMap<LocalDateTime, LocalDateTime>> calendars = Caffeine.newBuilder()
+            .maximumSize(MAX_ITEMS)
+            .expireAfter(new ExpireAfterLoad<Long, NavigableMap<LocalDateTime, LocalDateTime>>(EXPIRE_AFTER_LOAD))
+            .build();
+
+    // free time of the item in [from, to), from should not be in the past, past bookings are not loaded
+    public List<FreeSlotDto> findFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        NavigableMap<LocalDateTime, LocalDateTime> approved = calendars.get(itemId, this::load);
+        LocalDateTime first = approved.floorKey(from);
+        List<FreeSlotDto> slots = new ArrayList<>();
+        LocalDateTime free = from;
+        for (Map.Entry<LocalDateTime, LocalDateTime> booking
+                : approved.subMap((first == null) ? from : first, true, to, false).entrySet()) {
+            if (booking.getKey().isAfter(free)) {
+                slots.add(new FreeSlotDto(free, booking.getKey()));
+            }
+            if (booking.getValue().isAfter(free)) {
+                free = booking.getValue();
+            }
+        }
+        if (free.isBefore(to)) {
+            slots.add(new FreeSlotDto(free, to));
+        }
+        return slots;
+    }
+
+    // calendars not loaded yet read the booking from the DB on their first request
+    public void approved(Long itemId, LocalDateTime start, LocalDateTime end) {
+        TransactionHooks.afterCommit(() -> calendars.asMap().computeIfPresent(itemId, (id, approved) -> {
+            approved.merge(start, end, BookingCalendar::later);
+            return approved;
+        }));
+    }
+
+    private NavigableMap<LocalDateTime, LocalDateTime> load(Long itemId) {
+        NavigableMap<LocalDateTime, LocalDateTime> approved = new ConcurrentSkipListMap<>();
+        for (BookingIntervalDto booking : bookingRepository.findApprovedByItemIdEndingAfter(
+                itemId, LocalDateTime.now())) {
+            approved.merge(booking.getStart(), booking.getEnd(), BookingCalendar::later);
+        }
+        return approved;
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        return (a.isAfter(b)) ? a : b;
+    }
+}
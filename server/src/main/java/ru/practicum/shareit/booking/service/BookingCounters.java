@@ -0,0 +1,146 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.ArchivedBookingRepository;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingStatusCountDto;
+import ru.practicum.shareit.util.ExpireAfterLoad;
+import ru.practicum.shareit.util.TransactionHooks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Booking counts by state of bookers and owners, loaded from the DB on the first request for a user and dropped
+ * when bookings of the user change on this server. Starts and ends still ahead are kept in order, so CURRENT,
+ * FUTURE and PAST counts move on with time without queries. Changes made by other servers are seen after the
+ * counts expire.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingCounters {
+    private static final int MAX_USERS = 100_000;
+    private static final Duration EXPIRE_AFTER_LOAD = Duration.ofMinutes(10);
+    private static final long ROLLOVER_DELAY_MILLIS = 60_000;
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final Cache<Long, Counts> bookerCounts = newCache();
+    private final Cache<Long, Counts> ownerCounts = newCache();
+
+    public Map<BookingState, Long> getOfBooker(Long bookerId) {
+        LocalDateTime now = LocalDateTime.now();
+        return bookerCounts.get(bookerId, id -> new Counts(
+                bookingRepository.countByBookerIdGroupByStatus(id),
+                archivedBookingRepository.countByBookerIdGroupByStatus(id),
+                bookingRepository.findNotEndedByBookerId(id, now),
+                now
+        )).toMap(now);
+    }
+
+    public Map<BookingState, Long> getOfOwner(Long ownerId) {
+        LocalDateTime now = LocalDateTime.now();
+        return ownerCounts.get(ownerId, id -> new Counts(
+                bookingRepository.countByOwnerIdGroupByStatus(id),
+                archivedBookingRepository.countByOwnerIdGroupByStatus(id),
+                bookingRepository.findNotEndedByOwnerId(id, now),
+                now
+        )).toMap(now);
+    }
+
+    // dropped rather than updated: a load between the commit and this callback already sees the change
+    public void changed(Long bookerId, Long ownerId) {
+        TransactionHooks.afterCommit(() -> {
+            bookerCounts.invalidate(bookerId);
+            ownerCounts.invalidate(ownerId);
+        });
+    }
+
+    // reads roll the counts of their user too, this keeps the pending starts and ends of the others short
+    @Scheduled(fixedDelay = ROLLOVER_DELAY_MILLIS, initialDelay = ROLLOVER_DELAY_MILLIS)
+    public void rollOver() {
+        LocalDateTime now = LocalDateTime.now();
+        bookerCounts.asMap().values().forEach(counts -> counts.rollOver(now));
+        ownerCounts.asMap().values().forEach(counts -> counts.rollOver(now));
+    }
+
+    private static Cache<Long, Counts> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(MAX_USERS)
+                .expireAfter(new ExpireAfterLoad<Long, Counts>(EXPIRE_AFTER_LOAD))
+                .build();
+    }
+
+    // bookings with a start after rolledAt are FUTURE, with an end before it PAST, the others CURRENT
+    private static class Counts {
+        private final long[] statuses = new long[BookingStatus.values().length];
+        private final NavigableMap<LocalDateTime, Integer> starts = new TreeMap<>();
+        private final NavigableMap<LocalDateTime, Integer> ends = new TreeMap<>();
+        private long all;
+        private long future;
+        private long notEnded;
+        private LocalDateTime rolledAt;
+
+        // archived bookings have all ended, they only add to the status counts
+        Counts(List<BookingStatusCountDto> statusCounts, List<BookingStatusCountDto> archivedStatusCounts,
+               List<BookingIntervalDto> notEndedBookings, LocalDateTime now) {
+            rolledAt = now;
+            Stream.of(statusCounts, archivedStatusCounts).flatMap(List::stream).forEach(statusCount -> {
+                statuses[statusCount.getStatus().ordinal()] += statusCount.getCount();
+                all += statusCount.getCount();
+            });
+            notEndedBookings.forEach(b -> addPending(b.getStart(), b.getEnd()));
+        }
+
+        synchronized void rollOver(LocalDateTime now) {
+            if (!now.isAfter(rolledAt)) {
+                return;
+            }
+            future -= removeHead(starts.headMap(now, true));
+            notEnded -= removeHead(ends.headMap(now, false));
+            rolledAt = now;
+        }
+
+        synchronized Map<BookingState, Long> toMap(LocalDateTime now) {
+            rollOver(now);
+            Map<BookingState, Long> counts = new EnumMap<>(BookingState.class);
+            counts.put(BookingState.ALL, all);
+            counts.put(BookingState.CURRENT, notEnded - future);
+            counts.put(BookingState.FUTURE, future);
+            counts.put(BookingState.PAST, all - notEnded);
+            counts.put(BookingState.REJECTED, statuses[BookingStatus.REJECTED.ordinal()]);
+            counts.put(BookingState.WAITING, statuses[BookingStatus.WAITING.ordinal()]);
+            return counts;
+        }
+
+        private void addPending(LocalDateTime start, LocalDateTime end) {
+            if (start.isAfter(rolledAt)) {
+                starts.merge(start, 1, Integer::sum);
+                future++;
+            }
+            if (!end.isBefore(rolledAt)) {
+                ends.merge(end, 1, Integer::sum);
+                notEnded++;
+            }
+        }
+
+        private static long removeHead(Map<LocalDateTime, Integer> head) {
+            long removed = head.values().stream().mapToLong(Integer::longValue).sum();
+            head.clear();
+            return removed;
+        }
+    }
+}
@@ -2,28 +2,55 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.dto.BookingAdvancedDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.booking.dto.LastNextBookingDto;
+import ru.practicum.shareit.util.CursorPage;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface BookingService {
     Booking getByIdOrNotFoundError(Long bookingId);
 
     BookingAdvancedDto create(BookingDto bookingDto, Long bookerId);
 
+    List<BookingBatchResultDto> createAll(List<BookingDto> bookingDtos, Long bookerId);
+
     BookingAdvancedDto approve(Long ownerId, Long bookingId, boolean approved);
 
+    List<BookingBatchResultDto> approveAll(Long ownerId, List<Long> bookingIds, boolean approved);
+
     BookingAdvancedDto getByOwnerId(Long ownerId, Long bookingId);
 
     BookingDto getLast(Long itemId, LocalDateTime now);
 
     BookingDto getNext(Long itemId, LocalDateTime now);
 
+    Map<Long, LastNextBookingDto> getLastAndNextByItemIds(Collection<Long> itemIds, LocalDateTime now);
+
+    // counts of all states but UNSUPPORTED
+    Map<BookingState, Long> getCountsOfBooker(Long bookerId);
+
+    Map<BookingState, Long> getCountsOfOwner(Long ownerId);
+
+    List<FreeSlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    // the items of itemIds without approved bookings overlapping [start, end)
+    Collection<Long> getFreeItemIds(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
+
     List<BookingAdvancedDto> getAllOfBookerByState(int from, int size, Long bookerId, String stateText);
 
     List<BookingAdvancedDto> getAllOfOwnerByState(int from, int size, Long ownerId, String stateText);
 
+    CursorPage<BookingAdvancedDto> getPageOfBookerByState(String cursor, int size, Long bookerId, String stateText);
+
+    CursorPage<BookingAdvancedDto> getPageOfOwnerByState(String cursor, int size, Long ownerId, String stateText);
+
     boolean isBookerOfItem(Long bookerId, Long itemId);
 
     Booking findApprovedOrNotAvailableError(Long bookerId, Long itemId);
@@ -2,43 +2,73 @@ package ru.practicum.shareit.booking.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.dto.*;
 import ru.practicum.shareit.handler.exception.BadRequestException;
+import ru.practicum.shareit.handler.exception.ConflictException;
 import ru.practicum.shareit.handler.exception.NotFoundException;
 import ru.practicum.shareit.handler.exception.UnsupportedStatusException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.CursorPage;
 import ru.practicum.shareit.util.FromSizeRequest;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.RetryConfig;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final UserService userService;
     private final ItemService itemService;
+    private final BookingCalendar bookingCalendar;
+    private final BookingCounters bookingCounters;
 
     @Autowired
     public BookingServiceImpl(
             BookingRepository bookingRepository,
+            ArchivedBookingRepository archivedBookingRepository,
             UserService userService,
-            @Lazy ItemService itemService
+            @Lazy ItemService itemService,
+            BookingCalendar bookingCalendar,
+            BookingCounters bookingCounters
     ) {
         this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
         this.userService = userService;
         this.itemService = itemService;
+        this.bookingCalendar = bookingCalendar;
+        this.bookingCounters = bookingCounters;
     }
 
     @Override
@@ -58,14 +88,84 @@ public class BookingServiceImpl implements BookingService {
         if (item.getOwner().getId().equals(bookerId)) {
             throw new NotFoundException("not found item of user");
         }
+        checkNotOverlapsApproved(item.getId(), bookingDto.getStart(), bookingDto.getEnd());
         Booking booking = BookingMapper.toBooking(
                 bookingDto, item, booker, BookingStatus.WAITING
         );
-        return BookingMapper.toBookingAdvancedDto(bookingRepository.save(booking));
+        bookingRepository.save(booking);
+        bookingCounters.changed(bookerId, item.getOwner().getId());
+        return BookingMapper.toBookingAdvancedDto(booking);
     }
 
     @Override
     @Transactional
+    public List<BookingBatchResultDto> createAll(List<BookingDto> bookingDtos, Long bookerId) {
+        User booker = userService.getByIdOrNotFoundError(bookerId);
+        Map<Long, Item> items = itemService.getAllByIds(bookingDtos.stream()
+                        .map(BookingDto::getItemId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        BookingBatchResultDto[] results = new BookingBatchResultDto[bookingDtos.size()];
+        List<Booking> candidates = new ArrayList<>();
+        List<Integer> candidateIndexes = new ArrayList<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDto bookingDto = bookingDtos.get(i);
+            Item item = items.get(bookingDto.getItemId());
+            if (item == null) {
+                results[i] = BookingBatchResultDto.failed(
+                        i, HttpStatus.NOT_FOUND, "not found item #" + bookingDto.getItemId()
+                );
+            } else if (!item.getAvailable()) {
+                results[i] = BookingBatchResultDto.failed(
+                        i, HttpStatus.BAD_REQUEST, "not found unavailable item #" + bookingDto.getItemId()
+                );
+            } else if (item.getOwner().getId().equals(bookerId)) {
+                results[i] = BookingBatchResultDto.failed(i, HttpStatus.NOT_FOUND, "not found item of user");
+            } else {
+                candidates.add(BookingMapper.toBooking(bookingDto, item, booker, BookingStatus.WAITING));
+                candidateIndexes.add(i);
+            }
+        }
+        ApprovedIntervals approvedIntervals = findApprovedIntervals(candidates.stream()
+                .map(b -> new BookingIntervalDto(null, b.getItem().getId(), b.getStart(), b.getEnd()))
+                .collect(Collectors.toList()));
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> bookingIndexes = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Booking booking = candidates.get(i);
+            Optional<BookingIntervalDto> overlapping = approvedIntervals.findOverlapping(
+                    booking.getItem().getId(), booking.getStart(), booking.getEnd()
+            );
+            if (overlapping.isPresent()) {
+                results[candidateIndexes.get(i)] = BookingBatchResultDto.failed(
+                        candidateIndexes.get(i), HttpStatus.CONFLICT, overlapError(overlapping.get())
+                );
+            } else {
+                bookings.add(booking);
+                bookingIndexes.add(candidateIndexes.get(i));
+            }
+        }
+        bookingRepository.saveAll(bookings);
+        bookings.forEach(b -> bookingCounters.changed(bookerId, b.getItem().getOwner().getId()));
+        for (int i = 0; i < bookings.size(); i++) {
+            results[bookingIndexes.get(i)] = BookingBatchResultDto.succeeded(
+                    bookingIndexes.get(i), BookingMapper.toBookingAdvancedDto(bookings.get(i))
+            );
+        }
+        return List.of(results);
+    }
+
+    @Override
+    @Transactional
+    @Retryable(
+            label = "booking.approve",
+            value = ConcurrencyFailureException.class,
+            maxAttempts = RetryConfig.MAX_ATTEMPTS,
+            backoff = @Backoff(
+                    delay = RetryConfig.MIN_BACKOFF_MILLIS, maxDelay = RetryConfig.MAX_BACKOFF_MILLIS, random = true
+            )
+    )
     public BookingAdvancedDto approve(Long ownerId, Long bookingId, boolean approved) {
         Booking booking = getByIdOrNotFoundError(bookingId);
         if (!booking.getStatus().equals(BookingStatus.WAITING)) {
@@ -74,14 +174,83 @@ public class BookingServiceImpl implements BookingService {
         if (!booking.getItem().getOwner().getId().equals(ownerId)) {
             throw new NotFoundException("not found booking #" + bookingId);
         }
+        if (approved) {
+            itemService.lockAllByIds(List.of(booking.getItem().getId()));
+            checkNotOverlapsApproved(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+        }
         booking.setStatus((approved) ? BookingStatus.APPROVED : BookingStatus.REJECTED);
         bookingRepository.save(booking);
+        bookingCounters.changed(booking.getBooker().getId(), ownerId);
+        if (approved) {
+            bookingCalendar.approved(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+        }
         return BookingMapper.toBookingAdvancedDto(booking);
     }
 
+    @Override
+    @Transactional
+    @Retryable(
+            label = "booking.approve-all",
+            value = ConcurrencyFailureException.class,
+            maxAttempts = RetryConfig.MAX_ATTEMPTS,
+            backoff = @Backoff(
+                    delay = RetryConfig.MIN_BACKOFF_MILLIS, maxDelay = RetryConfig.MAX_BACKOFF_MILLIS, random = true
+            )
+    )
+    public List<BookingBatchResultDto> approveAll(Long ownerId, List<Long> bookingIds, boolean approved) {
+        Map<Long, BookingOwnerStatusDto> found = bookingRepository.findOwnerAndStatusByIds(new HashSet<>(bookingIds))
+                .stream()
+                .collect(Collectors.toMap(BookingOwnerStatusDto::getId, Function.identity()));
+        Set<Long> waitingIds = bookingIds.stream()
+                .filter(id -> found.containsKey(id)
+                        && found.get(id).getOwnerId().equals(ownerId)
+                        && found.get(id).getStatus() == BookingStatus.WAITING)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, BookingIntervalDto> conflicts = new HashMap<>();
+        if (approved && !waitingIds.isEmpty()) {
+            conflicts = findApprovedConflicts(waitingIds.stream().map(found::get).collect(Collectors.toList()));
+            waitingIds.removeAll(conflicts.keySet());
+        }
+        Map<Long, BookingAdvancedDto> updated = new HashMap<>();
+        if (!waitingIds.isEmpty()) {
+            BookingStatus status = (approved) ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+            if (bookingRepository.updateStatusOfWaiting(waitingIds, ownerId, status) != waitingIds.size()) {
+                throw new OptimisticLockingFailureException("bookings were changed concurrently");
+            }
+            waitingIds.stream().map(found::get).forEach(b -> bookingCounters.changed(b.getBookerId(), ownerId));
+            if (approved) {
+                waitingIds.stream().map(found::get).forEach(b -> bookingCalendar.approved(
+                        b.getItemId(), b.getStart(), b.getEnd()
+                ));
+            }
+            bookingRepository.findAllByIdIn(waitingIds).forEach(b -> updated.put(b.getId(), b));
+        }
+        List<BookingBatchResultDto> results = new ArrayList<>(bookingIds.size());
+        for (int i = 0; i < bookingIds.size(); i++) {
+            Long bookingId = bookingIds.get(i);
+            BookingOwnerStatusDto booking = found.get(bookingId);
+            if (booking == null || !booking.getOwnerId().equals(ownerId)) {
+                results.add(BookingBatchResultDto.failed(i, HttpStatus.NOT_FOUND, "not found booking #" + bookingId));
+            } else if (updated.containsKey(bookingId)) {
+                results.add(BookingBatchResultDto.succeeded(i, updated.get(bookingId)));
+            } else if (conflicts.containsKey(bookingId)) {
+                results.add(BookingBatchResultDto.failed(
+                        i, HttpStatus.CONFLICT, overlapError(conflicts.get(bookingId))
+                ));
+            } else {
+                results.add(BookingBatchResultDto.failed(
+                        i, HttpStatus.BAD_REQUEST, "booking already approved/rejected/canceled"
+                ));
+            }
+        }
+        return results;
+    }
+
     @Override
     public BookingAdvancedDto getByOwnerId(Long ownerId, Long bookingId) {
-        Booking booking = getByIdOrNotFoundError(bookingId);
+        Booking booking = bookingRepository.findById(bookingId)
+                .or(() -> archivedBookingRepository.findById(bookingId).map(BookingMapper::toBooking))
+                .orElseThrow(() -> new NotFoundException("not found booking #" + bookingId));
         Long itemOwnerId = booking.getItem().getOwner().getId();
         Long bookerId = booking.getBooker().getId();
         if (!(ownerId.equals(itemOwnerId)) && !(bookerId.equals(ownerId))) {
@@ -104,14 +273,61 @@ public class BookingServiceImpl implements BookingService {
         return bookingOptional.map(BookingMapper::toBookingDto).orElse(null);
     }
 
+    @Override
+    public Map<Long, LastNextBookingDto> getLastAndNextByItemIds(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, LastNextBookingDto> bookings = new HashMap<>();
+        if (itemIds.isEmpty()) {
+            return bookings;
+        }
+        for (Booking booking : bookingRepository.findLastAndNextByItemIds(itemIds, now)) {
+            LastNextBookingDto itemBookings = bookings.computeIfAbsent(
+                    booking.getItem().getId(), id -> new LastNextBookingDto()
+            );
+            if (itemBookings.getLastBooking() == null && !booking.getEnd().isAfter(now)) {
+                itemBookings.setLastBooking(BookingMapper.toBookingDto(booking));
+            }
+            if (itemBookings.getNextBooking() == null && !booking.getEnd().isBefore(now)) {
+                itemBookings.setNextBooking(BookingMapper.toBookingDto(booking));
+            }
+        }
+        return bookings;
+    }
+
+    @Override
+    public List<FreeSlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return bookingCalendar.findFreeSlots(itemId, from, to);
+    }
+
+    @Override
+    public Map<BookingState, Long> getCountsOfBooker(Long bookerId) {
+        userService.checkExistsOrNotFoundError(bookerId);
+        return bookingCounters.getOfBooker(bookerId);
+    }
+
+    @Override
+    public Map<BookingState, Long> getCountsOfOwner(Long ownerId) {
+        userService.checkExistsOrNotFoundError(ownerId);
+        return bookingCounters.getOfOwner(ownerId);
+    }
+
+    @Override
+    public Collection<Long> getFreeItemIds(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end) {
+        Set<Long> free = new HashSet<>(itemIds);
+        if (!free.isEmpty()) {
+            bookingRepository.findApprovedOverlapping(itemIds, start, end)
+                    .forEach(b -> free.remove(b.getItemId()));
+        }
+        return free;
+    }
+
     @Override
     public List<BookingAdvancedDto> getAllOfBookerByState(
             int from, int size, Long bookerId, String stateText
     ) {
-        userService.getByIdOrNotFoundError(bookerId);
+        userService.checkExistsOrNotFoundError(bookerId);
         BookingState state = BookingState.from(stateText);
         Pageable pageable = FromSizeRequest.of(from, size);
-        List<Booking> booking;
+        List<BookingAdvancedDto> booking;
         switch (state) {
             case ALL:
                 booking = bookingRepository.findByBooker_IdOrderByEndDesc(bookerId, pageable);
@@ -136,51 +352,178 @@ public class BookingServiceImpl implements BookingService {
                         bookerId, BookingStatus.valueOf(state.name()), pageable
                 );
         }
-        return booking.stream().map(BookingMapper::toBookingAdvancedDto).collect(Collectors.toList());
+        return continueInArchive(
+                booking, from, size, state,
+                () -> bookingRepository.countOfBookerByState(bookerId, state, LocalDateTime.now()),
+                (offset, limit) -> bookingRepository.findArchivedPageOfBookerByState(
+                        bookerId, state, null, offset, limit
+                )
+        );
     }
 
     @Override
     public List<BookingAdvancedDto> getAllOfOwnerByState(int from, int size, Long ownerId, String stateText) {
-        userService.getByIdOrNotFoundError(ownerId);
+        userService.checkExistsOrNotFoundError(ownerId);
         BookingState state = BookingState.from(stateText);
         Pageable pageable = FromSizeRequest.of(from, size);
-        List<Booking> booking;
+        List<BookingAdvancedDto> booking;
         switch (state) {
             case ALL:
-                booking = bookingRepository.findByItem_Owner_IdOrderByEndDesc(ownerId, pageable);
+                booking = bookingRepository.findByOwner_IdOrderByEndDesc(ownerId, pageable);
                 break;
             case CURRENT:
                 booking = bookingRepository.findAllByOwnerIdCurrent(ownerId, LocalDateTime.now(), pageable);
                 break;
             case PAST:
-                booking = bookingRepository.findByItem_Owner_IdAndEndLessThanOrderByEndDesc(
+                booking = bookingRepository.findByOwner_IdAndEndLessThanOrderByEndDesc(
                         ownerId, LocalDateTime.now(), pageable
                 );
                 break;
             case FUTURE:
-                booking = bookingRepository.findByItem_Owner_IdAndStartGreaterThanOrderByEndDesc(
+                booking = bookingRepository.findByOwner_IdAndStartGreaterThanOrderByEndDesc(
                         ownerId, LocalDateTime.now(), pageable
                 );
                 break;
             case UNSUPPORTED:
                 throw new UnsupportedStatusException("Unknown state: " + stateText);
             default:
-                booking = bookingRepository.findByItem_Owner_IdAndStatusOrderByEndDesc(
+                booking = bookingRepository.findByOwner_IdAndStatusOrderByEndDesc(
                         ownerId, BookingStatus.valueOf(state.name()), pageable
                 );
         }
-        return booking.stream().map(BookingMapper::toBookingAdvancedDto).collect(Collectors.toList());
+        return continueInArchive(
+                booking, from, size, state,
+                () -> bookingRepository.countOfOwnerByState(ownerId, state, LocalDateTime.now()),
+                (offset, limit) -> bookingRepository.findArchivedPageOfOwnerByState(
+                        ownerId, state, null, offset, limit
+                )
+        );
+    }
+
+    @Override
+    public CursorPage<BookingAdvancedDto> getPageOfBookerByState(
+            String cursor, int size, Long bookerId, String stateText
+    ) {
+        userService.checkExistsOrNotFoundError(bookerId);
+        BookingState state = toSupportedState(stateText);
+        KeysetCursor after = KeysetCursor.decodeTimed(cursor).orElse(null);
+        int limit = CursorPage.limit(size).getPageSize();
+        List<BookingAdvancedDto> bookings = bookingRepository.findPageOfBookerByState(
+                bookerId, state, LocalDateTime.now(), after, limit
+        );
+        return toBookingPage(continueInArchive(
+                bookings, 0, limit, state,
+                () -> 0,
+                (offset, rest) -> bookingRepository.findArchivedPageOfBookerByState(bookerId, state, after, offset, rest)
+        ), size);
+    }
+
+    @Override
+    public CursorPage<BookingAdvancedDto> getPageOfOwnerByState(
+            String cursor, int size, Long ownerId, String stateText
+    ) {
+        userService.checkExistsOrNotFoundError(ownerId);
+        BookingState state = toSupportedState(stateText);
+        KeysetCursor after = KeysetCursor.decodeTimed(cursor).orElse(null);
+        int limit = CursorPage.limit(size).getPageSize();
+        List<BookingAdvancedDto> bookings = bookingRepository.findPageOfOwnerByState(
+                ownerId, state, LocalDateTime.now(), after, limit
+        );
+        return toBookingPage(continueInArchive(
+                bookings, 0, limit, state,
+                () -> 0,
+                (offset, rest) -> bookingRepository.findArchivedPageOfOwnerByState(ownerId, state, after, offset, rest)
+        ), size);
     }
 
     @Override
     public boolean isBookerOfItem(Long bookerId, Long itemId) {
-        return bookingRepository.existsByItem_IdAndBooker_Id(itemId, bookerId);
+        return bookingRepository.existsByItem_IdAndBooker_Id(itemId, bookerId)
+                || archivedBookingRepository.existsByItem_IdAndBooker_Id(itemId, bookerId);
     }
 
     @Override
     public Booking findApprovedOrNotAvailableError(Long bookerId, Long itemId) {
-        return bookingRepository.findFirstByItem_IdAndBooker_IdAndStatusOrderByStartAsc(
-                itemId, bookerId, BookingStatus.APPROVED
-        ).orElseThrow(() -> new BadRequestException("has not approved booking"));
+        // archived bookings started before the hot ones
+        return archivedBookingRepository.findFirstByItem_IdAndBooker_IdAndStatusOrderByStartAsc(
+                        itemId, bookerId, BookingStatus.APPROVED
+                ).map(BookingMapper::toBooking)
+                .or(() -> bookingRepository.findFirstByItem_IdAndBooker_IdAndStatusOrderByStartAsc(
+                        itemId, bookerId, BookingStatus.APPROVED
+                ))
+                .orElseThrow(() -> new BadRequestException("has not approved booking"));
+    }
+
+    private void checkNotOverlapsApproved(Long itemId, LocalDateTime start, LocalDateTime end) {
+        bookingRepository.findApprovedOverlapping(List.of(itemId), start, end).stream()
+                .findFirst()
+                .ifPresent(approved -> {
+                    throw new ConflictException(overlapError(approved));
+                });
+    }
+
+    // approved bookings of the items overlapping the time span of all given bookings
+    private ApprovedIntervals findApprovedIntervals(List<BookingIntervalDto> bookings) {
+        if (bookings.isEmpty()) {
+            return new ApprovedIntervals(List.of());
+        }
+        Set<Long> itemIds = bookings.stream().map(BookingIntervalDto::getItemId).collect(Collectors.toSet());
+        LocalDateTime start = bookings.stream().map(BookingIntervalDto::getStart)
+                .min(LocalDateTime::compareTo).orElseThrow();
+        LocalDateTime end = bookings.stream().map(BookingIntervalDto::getEnd)
+                .max(LocalDateTime::compareTo).orElseThrow();
+        return new ApprovedIntervals(bookingRepository.findApprovedOverlapping(itemIds, start, end));
+    }
+
+    // approves in the given order, a booking overlapping one approved before it in the batch is a conflict too
+    private Map<Long, BookingIntervalDto> findApprovedConflicts(List<BookingOwnerStatusDto> waiting) {
+        List<BookingIntervalDto> bookings = waiting.stream()
+                .map(b -> new BookingIntervalDto(b.getId(), b.getItemId(), b.getStart(), b.getEnd()))
+                .collect(Collectors.toList());
+        itemService.lockAllByIds(bookings.stream().map(BookingIntervalDto::getItemId).collect(Collectors.toSet()));
+        ApprovedIntervals approvedIntervals = findApprovedIntervals(bookings);
+        Map<Long, BookingIntervalDto> conflicts = new HashMap<>();
+        for (BookingIntervalDto booking : bookings) {
+            Optional<BookingIntervalDto> overlapping = approvedIntervals.findOverlapping(
+                    booking.getItemId(), booking.getStart(), booking.getEnd()
+            );
+            if (overlapping.isPresent()) {
+                conflicts.put(booking.getId(), overlapping.get());
+            } else {
+                approvedIntervals.add(booking);
+            }
+        }
+        return conflicts;
+    }
+
+    private static String overlapError(BookingIntervalDto approved) {
+        return "booking overlaps approved booking #" + approved.getId();
+    }
+
+    private static BookingState toSupportedState(String stateText) {
+        BookingState state = BookingState.from(stateText);
+        if (state == BookingState.UNSUPPORTED) {
+            throw new UnsupportedStatusException("Unknown state: " + stateText);
+        }
+        return state;
+    }
+
+    // the archiver keeps bookings ended before all hot ones in the archive, a page running out of hot bookings goes
+    // on there; the count of hot bookings is only needed to skip them when the page starts in the archive
+    private static List<BookingAdvancedDto> continueInArchive(
+            List<BookingAdvancedDto> hot, int from, int size, BookingState state, LongSupplier hotCount,
+            BiFunction<Integer, Integer, List<BookingAdvancedDto>> archived
+    ) {
+        if (hot.size() >= size || state == BookingState.CURRENT || state == BookingState.FUTURE) {
+            return hot;
+        }
+        int offset = (hot.isEmpty() && from > 0) ? (int) Math.max(0, from - hotCount.getAsLong()) : 0;
+        List<BookingAdvancedDto> page = new ArrayList<>(hot);
+        page.addAll(archived.apply(offset, size - hot.size()));
+        return page;
+    }
+
+    private static CursorPage<BookingAdvancedDto> toBookingPage(List<BookingAdvancedDto> bookings, int size) {
+        return CursorPage.of(bookings, size, b -> KeysetCursor.of(b.getEnd(), b.getId()), page -> page);
     }
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.handler;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.handler.exception.ForbiddenException;
 import ru.practicum.shareit.handler.exception.BadRequestException;
+import ru.practicum.shareit.handler.exception.ConflictException;
 import ru.practicum.shareit.handler.exception.NotFoundException;
 import ru.practicum.shareit.handler.exception.UnsupportedStatusException;
 
@@ -51,6 +53,21 @@ public class ErrorHandler {
         return new ErrorResponse(ex.getMessage().toLowerCase());
     }
 
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(ConflictException.class)
+    public ErrorResponse handleConflictException(ConflictException ex) {
+        log.info("Conflict: {}", ex.getMessage());
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    // thrown when the retries of a write that lost a race with a concurrent transaction are exhausted
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ErrorResponse handleConcurrencyFailureException(ConcurrencyFailureException ex) {
+        log.info("Concurrent update: {}", ex.getMessage());
+        return new ErrorResponse("concurrent update, retry");
+    }
+
     @ResponseStatus(HttpStatus.CONFLICT)
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ErrorResponse handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
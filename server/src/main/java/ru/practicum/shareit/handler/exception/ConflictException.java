@@ -0,0 +1,7 @@
+package ru.practicum.shareit.handler.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
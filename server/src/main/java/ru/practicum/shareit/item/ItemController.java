@@ -2,14 +2,18 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemAdvancedDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.CommentService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -51,15 +55,31 @@ public class ItemController {
         return itemService.getById(itemId, userId);
     }
 
-    @GetMapping
+    @GetMapping("/{itemId}/availability")
     @ResponseStatus(HttpStatus.OK)
-    public List<ItemAdvancedDto> getItemsByOwnerId(
+    public List<FreeSlotDto> getAvailability(
+            @PathVariable Long itemId,
+            @RequestParam(name = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        log.info("GET /items/{}/availability?from={}&to={}", itemId, from, to);
+        return itemService.getFreeSlots(itemId, from, to);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ItemAdvancedDto>> getItemsByOwnerId(
             @RequestHeader(name = "X-Sharer-User-Id") Long ownerId,
             @RequestParam(name = "from", defaultValue = "0") int from,
-            @RequestParam(name = "size", defaultValue = "20") int size
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "cursor", required = false) String cursor
     ) {
         log.info("GET /items");
-        return itemService.getAllByOwnerId(from, size, ownerId);
+        if (cursor != null) {
+            return itemService.getPageByOwnerId(cursor, size, ownerId).toResponseEntity();
+        }
+        return ResponseEntity.ok(itemService.getAllByOwnerId(from, size, ownerId));
     }
 
     @GetMapping("/search")
@@ -67,10 +87,17 @@ public class ItemController {
     public List<ItemDto> searchItems(
             @RequestParam(name = "text", defaultValue = "") String text,
             @RequestParam(name = "from", defaultValue = "0") int from,
-            @RequestParam(name = "size", defaultValue = "20") int size
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "start", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(name = "end", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end
     ) {
-        log.info("GET /items/search?text={}", text);
-        return itemService.findAvailableByNameOrDescription(from, size, text);
+        log.info("GET /items/search?text={}&start={}&end={}", text, start, end);
+        if (start == null && end == null) {
+            return itemService.findAvailableByNameOrDescription(from, size, text);
+        }
+        return itemService.findAvailableAndFreeByNameOrDescription(from, size, text, start, end);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -2,10 +2,12 @@ package ru.practicum.shareit.item.mapper;
 
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemAdvancedDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -25,6 +27,19 @@ public class ItemMapper {
 
     public static ItemAdvancedDto toItemAdvancedDto(
             Item item, BookingDto lastBooking, BookingDto nextBooking
+    ) {
+        return toItemAdvancedDto(
+                item,
+                lastBooking,
+                nextBooking,
+                item.getComments().stream()
+                        .map(CommentMapper::toCommentDto)
+                        .collect(Collectors.toList())
+        );
+    }
+
+    public static ItemAdvancedDto toItemAdvancedDto(
+            Item item, BookingDto lastBooking, BookingDto nextBooking, List<CommentDto> comments
     ) {
         return ItemAdvancedDto.builder()
                 .id(item.getId())
@@ -33,9 +48,7 @@ public class ItemMapper {
                 .available(item.getAvailable())
                 .lastBooking(lastBooking)
                 .nextBooking(nextBooking)
-                .comments(item.getComments().stream()
-                                .map(CommentMapper::toCommentDto)
-                                .collect(Collectors.toList()))
+                .comments(comments)
                 .requestId(Optional.ofNullable(item.getItemRequest()).isPresent()
                         ? item.getItemRequest().getId()
                         : null)
@@ -2,6 +2,8 @@ package ru.practicum.shareit.item.model;
 
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
@@ -16,11 +18,14 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @ToString
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items")
 @Table(name = "items", schema = "public")
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @Column(name = "id")
     Long id;
 
@@ -48,6 +53,10 @@ public class Item {
     @JoinColumn(name = "request_id", referencedColumnName = "id")
     ItemRequest itemRequest;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    long version;
+
     public void addComment(Comment comment) {
         comments.add(comment);
     }
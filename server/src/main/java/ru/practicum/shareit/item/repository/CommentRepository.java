@@ -1,7 +1,17 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @Query("select c from Comment c " +
+            "join fetch c.author " +
+            "where c.item.id in :ids " +
+            "order by c.id")
+    List<Comment> findByItemIds(@Param("ids") Collection<Long> ids);
 }
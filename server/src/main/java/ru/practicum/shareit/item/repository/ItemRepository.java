@@ -2,18 +2,93 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    @Query("select i from Item i " +
+    // same matches and order as ItemSearchIndex: the text is a plain substring, % and _ included, ranked by
+    // name prefix (4), hits in the name (2 each) and in the description (1 each), then by id
+    String MATCHES_TEXT = "and (upper(i.name) like upper(:pattern) escape '!' " +
+            "    or upper(i.description) like upper(:pattern) escape '!') ";
+    String BY_RANK = "order by (case when locate(upper(:text), upper(i.name)) = 1 then 4 else 0 end " +
+            "    + (length(upper(i.name)) - length(replace(upper(i.name), upper(:text), ''))) / length(:text) * 2 " +
+            "    + (length(upper(i.description)) - length(replace(upper(i.description), upper(:text), ''))) " +
+            "        / length(:text)) desc, i.id";
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, r.id) " +
+            "from Item i left join i.itemRequest r " +
             "where i.available = true " +
-            "and (upper(i.name) like concat('%',upper(:text),'%') " +
-            "    or upper(i.description) like concat('%',upper(:text),'%'))")
-    List<Item> findAvailableByNameOrDescription(@Param("text") String text, Pageable pageable);
+            MATCHES_TEXT +
+            BY_RANK)
+    List<ItemDto> findAvailableByText(
+            @Param("text") String text, @Param("pattern") String pattern, Pageable pageable
+    );
+
+    default List<ItemDto> findAvailableByNameOrDescription(String text, Pageable pageable) {
+        return findAvailableByText(text, toContainsPattern(text), pageable);
+    }
+
+    // free items have no approved booking overlapping [start, end)
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, r.id) " +
+            "from Item i left join i.itemRequest r " +
+            "where i.available = true " +
+            MATCHES_TEXT +
+            "and not exists (select b.id from Booking b " +
+            "    where b.item = i and b.end > :start and b.start < :end " +
+            "    and b.status = ru.practicum.shareit.booking.dto.BookingStatus.APPROVED) " +
+            BY_RANK)
+    List<ItemDto> findAvailableAndFreeByText(
+            @Param("text") String text,
+            @Param("pattern") String pattern,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            Pageable pageable
+    );
+
+    default List<ItemDto> findAvailableAndFreeByNameOrDescription(
+            String text, LocalDateTime start, LocalDateTime end, Pageable pageable
+    ) {
+        return findAvailableAndFreeByText(text, toContainsPattern(text), start, end, pageable);
+    }
+
+    private static String toContainsPattern(String text) {
+        return "%" + text.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
 
     List<Item> findByOwner_IdOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select i from Item i " +
+            "where i.owner.id = :id and i.id > :after " +
+            "order by i.id")
+    List<Item> findPageByOwnerId(@Param("id") Long id, @Param("after") Long after, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, r.id) " +
+            "from Item i left join i.itemRequest r " +
+            "where i.available = true and i.id > :after " +
+            "order by i.id")
+    List<ItemDto> findAvailableAfter(@Param("after") Long after, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, r.id) " +
+            "from Item i join i.itemRequest r " +
+            "where r.id in :ids " +
+            "order by i.id")
+    List<ItemDto> findByRequestIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select i from Item i join fetch i.owner where i.id in :ids")
+    List<Item> findAllWithOwnerByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in :ids order by i.id")
+    List<Item> lockAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select i.id from Item i where i.owner.id = :id")
+    List<Long> findIdsByOwnerId(@Param("id") Long id);
 }
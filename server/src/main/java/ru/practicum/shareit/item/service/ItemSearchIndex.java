@@ -0,0 +1,230 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.util.TransactionHooks;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory trigram index of available items, matches and ranks results by name prefix and term frequency like
+ * ItemRepository#findAvailableByNameOrDescription, so pages do not change once the startup warm-up is done.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int WARM_UP_CHUNK = 10_000;
+    private static final int PREFIX_WEIGHT = 4;
+    private static final int NAME_WEIGHT = 2;
+    private static final int FILTER_CHUNK = 500;
+
+    private final ItemRepository itemRepository;
+    private final Map<Long, IndexedItem> items = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Set<Long> removedDuringWarmUp = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            long after = 0L;
+            List<ItemDto> chunk;
+            do {
+                chunk = itemRepository.findAvailableAfter(after, PageRequest.of(0, WARM_UP_CHUNK));
+                chunk.forEach(this::addIfAbsent);
+                if (!chunk.isEmpty()) {
+                    after = chunk.get(chunk.size() - 1).getId();
+                }
+            } while (chunk.size() == WARM_UP_CHUNK);
+            removedDuringWarmUp.clear();
+            ready = true;
+            log.info("Item search index is ready: {} items", items.size());
+        } catch (RuntimeException ex) {
+            log.warn("Item search index warm-up failed, search stays on the DB: {}", ex.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(ItemDto item) {
+        TransactionHooks.afterCommit(() -> update(item));
+    }
+
+    // items of a deleted owner are removed from the DB by cascade
+    public void removeByOwnerId(Long ownerId) {
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(ownerId);
+        TransactionHooks.afterCommit(() -> itemIds.forEach(this::remove));
+    }
+
+    public List<ItemDto> search(String text, int from, int size) {
+        return search(text, from, size, ids -> ids);
+    }
+
+    // keep gets ids of ranked matches in chunks and returns the ones to keep, chunks stop once the page is full
+    public List<ItemDto> search(String text, int from, int size, UnaryOperator<Collection<Long>> keep) {
+        String query = normalize(text);
+        if (query.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<IndexedItem> ranked = candidates(query).stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(i -> new ScoredItem(i, i.score(query)))
+                .filter(i -> i.score > 0)
+                .sorted(Comparator.comparingInt((ScoredItem i) -> i.score).reversed()
+                        .thenComparing(i -> i.item.item.getId()))
+                .map(i -> i.item)
+                .collect(Collectors.toList());
+        List<IndexedItem> found = new ArrayList<>();
+        for (int i = 0; i < ranked.size() && found.size() < from + size; i += FILTER_CHUNK) {
+            List<IndexedItem> chunk = ranked.subList(i, Math.min(i + FILTER_CHUNK, ranked.size()));
+            Set<Long> kept = new HashSet<>(keep.apply(chunk.stream()
+                    .map(c -> c.item.getId())
+                    .collect(Collectors.toList())));
+            chunk.stream().filter(c -> kept.contains(c.item.getId())).forEach(found::add);
+        }
+        return found.stream()
+                .skip(from)
+                .limit(size)
+                .map(IndexedItem::copy)
+                .collect(Collectors.toList());
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return items.keySet();
+        }
+        Set<Long> smallest = null;
+        for (String gram : grams(query)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return Collections.emptySet();
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest;
+    }
+
+    private synchronized void update(ItemDto item) {
+        removedDuringWarmUp.remove(item.getId());
+        remove(item.getId());
+        if (Boolean.TRUE.equals(item.getAvailable())) {
+            add(item);
+        }
+    }
+
+    private synchronized void addIfAbsent(ItemDto item) {
+        if (!items.containsKey(item.getId()) && !removedDuringWarmUp.contains(item.getId())) {
+            add(item);
+        }
+    }
+
+    private synchronized void remove(Long itemId) {
+        if (!ready) {
+            removedDuringWarmUp.add(itemId);
+        }
+        IndexedItem indexed = items.remove(itemId);
+        if (indexed == null) {
+            return;
+        }
+        for (String gram : indexed.grams()) {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(itemId);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private void add(ItemDto item) {
+        IndexedItem indexed = new IndexedItem(item);
+        items.put(item.getId(), indexed);
+        for (String gram : indexed.grams()) {
+            postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(item.getId());
+        }
+    }
+
+    private static String normalize(String text) {
+        return (text == null) ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static int occurrences(String text, String query) {
+        int count = 0;
+        for (int i = text.indexOf(query); i >= 0; i = text.indexOf(query, i + query.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    private static class IndexedItem {
+        final ItemDto item;
+        final String name;
+        final String description;
+
+        IndexedItem(ItemDto item) {
+            this.item = item;
+            this.name = normalize(item.getName());
+            this.description = normalize(item.getDescription());
+        }
+
+        Set<String> grams() {
+            Set<String> grams = ItemSearchIndex.grams(name);
+            grams.addAll(ItemSearchIndex.grams(description));
+            return grams;
+        }
+
+        int score(String query) {
+            int nameHits = occurrences(name, query);
+            int descriptionHits = occurrences(description, query);
+            if (nameHits + descriptionHits == 0) {
+                return 0;
+            }
+            return (name.startsWith(query) ? PREFIX_WEIGHT : 0) + nameHits * NAME_WEIGHT + descriptionHits;
+        }
+
+        ItemDto copy() {
+            return ItemDto.builder()
+                    .id(item.getId())
+                    .name(item.getName())
+                    .description(item.getDescription())
+                    .available(item.getAvailable())
+                    .requestId(item.getRequestId())
+                    .build();
+        }
+    }
+
+    private static class ScoredItem {
+        final IndexedItem item;
+        final int score;
+
+        ScoredItem(IndexedItem item, int score) {
+            this.item = item;
+            this.score = score;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.ItemAdvancedDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.CursorPage;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
@@ -15,7 +19,22 @@ public interface ItemService {
 
     List<ItemAdvancedDto> getAllByOwnerId(int from, int size, Long ownerId);
 
+    CursorPage<ItemAdvancedDto> getPageByOwnerId(String cursor, int size, Long ownerId);
+
     List<ItemDto> findAvailableByNameOrDescription(int from, int size, String text);
 
+    // available items free of approved bookings in [start, end)
+    List<ItemDto> findAvailableAndFreeByNameOrDescription(
+            int from, int size, String text, LocalDateTime start, LocalDateTime end
+    );
+
     Item getByIdOrNotFoundError(Long itemId);
+
+    // from defaults to now and to a period after from, a past from is moved to now
+    List<FreeSlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    List<Item> getAllByIds(Collection<Long> itemIds);
+
+    // row locks until the end of the transaction, so writers of the same items run one at a time
+    void lockAllByIds(Collection<Long> itemIds);
 }
@@ -1,25 +1,41 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.booking.dto.LastNextBookingDto;
+import ru.practicum.shareit.handler.exception.BadRequestException;
 import ru.practicum.shareit.handler.exception.ForbiddenException;
 import ru.practicum.shareit.handler.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemAdvancedDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.CursorPage;
 import ru.practicum.shareit.util.FromSizeRequest;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.RetryConfig;
 
 import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -27,10 +43,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final Period DEFAULT_AVAILABILITY_PERIOD = Period.ofDays(30);
+
     private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
     private final UserService userService;
     private final BookingService bookingService;
     private final ItemRequestService itemRequestService;
+    private final ItemSearchIndex itemSearchIndex;
 
     @Override
     @Transactional
@@ -40,11 +60,21 @@ public class ItemServiceImpl implements ItemService {
         Optional.ofNullable(itemDto.getRequestId()).ifPresent(
                 i -> item.setItemRequest(itemRequestService.getByIdOrNotFoundError(i))
         );
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        ItemDto createdItemDto = ItemMapper.toItemDto(itemRepository.save(item));
+        itemSearchIndex.index(createdItemDto);
+        return createdItemDto;
     }
 
     @Override
     @Transactional
+    @Retryable(
+            label = "item.update",
+            value = ConcurrencyFailureException.class,
+            maxAttempts = RetryConfig.MAX_ATTEMPTS,
+            backoff = @Backoff(
+                    delay = RetryConfig.MIN_BACKOFF_MILLIS, maxDelay = RetryConfig.MAX_BACKOFF_MILLIS, random = true
+            )
+    )
     public ItemDto update(Long itemId, Long userId, ItemDto itemDto) {
         Item item = getByIdOrNotFoundError(itemId);
         if (!item.getOwner().getId().equals(userId)) {
@@ -67,7 +97,9 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(itemDto.getAvailable());
         }
         itemRepository.save(item);
-        return ItemMapper.toItemDto(item);
+        ItemDto updatedItemDto = ItemMapper.toItemDto(item);
+        itemSearchIndex.index(updatedItemDto);
+        return updatedItemDto;
     }
 
     @Override
@@ -83,24 +115,44 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public List<ItemAdvancedDto> getAllByOwnerId(int from, int size, Long ownerId) {
         Pageable pageable = FromSizeRequest.of(from, size);
-        LocalDateTime now = LocalDateTime.now();
-        return itemRepository.findByOwner_IdOrderByIdAsc(ownerId, pageable).stream()
-                .map(i -> ItemMapper.toItemAdvancedDto(
-                        i,
-                        bookingService.getLast(i.getId(), now),
-                        bookingService.getNext(i.getId(), now)
-                ))
-                .collect(Collectors.toList());
+        return toItemAdvancedDtos(itemRepository.findByOwner_IdOrderByIdAsc(ownerId, pageable));
+    }
+
+    @Override
+    public CursorPage<ItemAdvancedDto> getPageByOwnerId(String cursor, int size, Long ownerId) {
+        Long after = KeysetCursor.decode(cursor).map(KeysetCursor::getId).orElse(0L);
+        List<Item> items = itemRepository.findPageByOwnerId(ownerId, after, CursorPage.limit(size));
+        return CursorPage.of(items, size, i -> KeysetCursor.of(i.getId()), this::toItemAdvancedDtos);
     }
 
     @Override
     public List<ItemDto> findAvailableByNameOrDescription(int from, int size, String text) {
         Pageable pageable = FromSizeRequest.of(from, size);
-        return (text.isBlank())
-                ? new ArrayList<>()
-                : itemRepository.findAvailableByNameOrDescription(text, pageable).stream()
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+        if (text.isBlank()) {
+            return new ArrayList<>();
+        }
+        return (itemSearchIndex.isReady())
+                ? itemSearchIndex.search(text, from, size)
+                : itemRepository.findAvailableByNameOrDescription(text, pageable);
+    }
+
+    @Override
+    public List<ItemDto> findAvailableAndFreeByNameOrDescription(
+            int from, int size, String text, LocalDateTime start, LocalDateTime end
+    ) {
+        Pageable pageable = FromSizeRequest.of(from, size);
+        if (start == null || end == null) {
+            throw new BadRequestException("start and end of period are required together");
+        }
+        if (!end.isAfter(start)) {
+            throw new BadRequestException("end of period is not after its start");
+        }
+        if (text.isBlank()) {
+            return new ArrayList<>();
+        }
+        return (itemSearchIndex.isReady())
+                ? itemSearchIndex.search(text, from, size, ids -> bookingService.getFreeItemIds(ids, start, end))
+                : itemRepository.findAvailableAndFreeByNameOrDescription(text, start, end, pageable);
     }
 
     @Override
@@ -108,4 +160,53 @@ public class ItemServiceImpl implements ItemService {
         return itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("not found item #" + itemId));
     }
+
+    @Override
+    public List<FreeSlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        getByIdOrNotFoundError(itemId);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime start = (from == null || from.isBefore(now)) ? now : from;
+        LocalDateTime end = (to == null) ? start.plus(DEFAULT_AVAILABILITY_PERIOD) : to;
+        if (!end.isAfter(start)) {
+            throw new BadRequestException("end of period is not after its start");
+        }
+        return bookingService.getFreeSlots(itemId, start, end);
+    }
+
+    @Override
+    public List<Item> getAllByIds(Collection<Long> itemIds) {
+        return (itemIds.isEmpty()) ? new ArrayList<>() : itemRepository.findAllWithOwnerByIdIn(itemIds);
+    }
+
+    @Override
+    @Transactional
+    public void lockAllByIds(Collection<Long> itemIds) {
+        if (!itemIds.isEmpty()) {
+            itemRepository.lockAllByIdIn(itemIds);
+        }
+    }
+
+    private List<ItemAdvancedDto> toItemAdvancedDtos(List<Item> items) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        Map<Long, LastNextBookingDto> bookings = bookingService.getLastAndNextByItemIds(itemIds, now);
+        Map<Long, List<CommentDto>> comments = (itemIds.isEmpty())
+                ? Map.of()
+                : commentRepository.findByItemIds(itemIds).stream()
+                .collect(Collectors.groupingBy(
+                        c -> c.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())
+                ));
+        return items.stream()
+                .map(i -> {
+                    LastNextBookingDto itemBookings = bookings.getOrDefault(i.getId(), new LastNextBookingDto());
+                    return ItemMapper.toItemAdvancedDto(
+                            i,
+                            itemBookings.getLastBooking(),
+                            itemBookings.getNextBooking(),
+                            comments.getOrDefault(i.getId(), new ArrayList<>())
+                    );
+                })
+                .collect(Collectors.toList());
+    }
 }
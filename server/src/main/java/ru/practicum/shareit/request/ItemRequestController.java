@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -38,14 +39,18 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    @ResponseStatus(HttpStatus.OK)
-    public List<ItemRequestDto> getAllRequests(
+    public ResponseEntity<List<ItemRequestDto>> getAllRequests(
             @RequestParam(name = "from", defaultValue = "0") int from,
             @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "cursor", required = false) String cursor,
             @RequestHeader(name = "X-Sharer-User-Id") Long requesterId
     ) {
+        if (cursor != null) {
+            log.info("GET /requests/all?cursor={}&size={}", cursor, size);
+            return itemRequestService.getPageOfRequests(cursor, size, requesterId).toResponseEntity();
+        }
         log.info("GET /requests/all?from={}&size={}", from, size);
-        return itemRequestService.getAllRequests(from, size, requesterId);
+        return ResponseEntity.ok(itemRequestService.getAllRequests(from, size, requesterId));
     }
 
     @GetMapping("/{requestId}")
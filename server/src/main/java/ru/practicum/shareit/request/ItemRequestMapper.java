@@ -18,11 +18,15 @@ public class ItemRequestMapper {
                 .stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
+        return toItemRequestDto(itemRequest, itemsDto);
+    }
+
+    public static ItemRequestDto toItemRequestDto(ItemRequest itemRequest, List<ItemDto> items) {
         return ItemRequestDto.builder()
                 .id(itemRequest.getId())
                 .description(itemRequest.getDescription())
                 .created(itemRequest.getCreated())
-                .items(itemsDto)
+                .items(items)
                 .build();
     }
 
@@ -2,11 +2,30 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findByRequester_IdOrderByCreatedDesc(Long id);
 
     List<ItemRequest> findByRequester_IdNotOrderByCreatedDesc(Long id, Pageable pageable);
+
+    @Query("select r from ItemRequest r " +
+            "where r.requester.id <> :id " +
+            "order by r.created DESC, r.id DESC")
+    List<ItemRequest> findFirstPageOfOthers(@Param("id") Long id, Pageable pageable);
+
+    @Query("select r from ItemRequest r " +
+            "where r.requester.id <> :id " +
+            "and r.created <= :created and (r.created < :created or r.id < :after) " +
+            "order by r.created DESC, r.id DESC")
+    List<ItemRequest> findPageOfOthers(
+            @Param("id") Long id,
+            @Param("created") LocalDateTime created,
+            @Param("after") Long after,
+            Pageable pageable
+    );
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.service;
 
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.util.CursorPage;
 
 import java.util.List;
 
@@ -12,6 +13,8 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAllRequests(int from, int size, Long requesterId);
 
+    CursorPage<ItemRequestDto> getPageOfRequests(String cursor, int size, Long requesterId);
+
     ItemRequestDto getRequestById(Long requestId, Long requesterId);
 
     ItemRequest getByIdOrNotFoundError(Long requestId);
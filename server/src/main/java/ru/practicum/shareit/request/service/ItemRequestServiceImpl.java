@@ -5,14 +5,20 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.handler.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestMapper;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.CursorPage;
 import ru.practicum.shareit.util.FromSizeRequest;
+import ru.practicum.shareit.util.KeysetCursor;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,6 +27,7 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
     private final UserService userService;
 
     @Override
@@ -35,26 +42,36 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDto> getItemRequestsByRequesterId(Long requesterId) {
-        userService.getByIdOrNotFoundError(requesterId);
-        return itemRequestRepository.findByRequester_IdOrderByCreatedDesc(requesterId).stream()
-                .map(ItemRequestMapper::toItemRequestDto)
-                .collect(Collectors.toList());
+        userService.checkExistsOrNotFoundError(requesterId);
+        return toItemRequestDtos(itemRequestRepository.findByRequester_IdOrderByCreatedDesc(requesterId));
     }
 
     @Override
     public List<ItemRequestDto> getAllRequests(int from, int size, Long requesterId) {
         Pageable pageable = FromSizeRequest.of(from, size);
-        return itemRequestRepository
-                .findByRequester_IdNotOrderByCreatedDesc(requesterId, pageable)
-                .stream()
-                .map(ItemRequestMapper::toItemRequestDto)
-                .collect(Collectors.toList());
+        return toItemRequestDtos(
+                itemRequestRepository.findByRequester_IdNotOrderByCreatedDesc(requesterId, pageable)
+        );
+    }
+
+    @Override
+    public CursorPage<ItemRequestDto> getPageOfRequests(String cursor, int size, Long requesterId) {
+        Pageable limit = CursorPage.limit(size);
+        List<ItemRequest> requests = KeysetCursor.decodeTimed(cursor)
+                .map(c -> itemRequestRepository.findPageOfOthers(requesterId, c.getTime(), c.getId(), limit))
+                .orElseGet(() -> itemRequestRepository.findFirstPageOfOthers(requesterId, limit));
+        return CursorPage.of(
+                requests,
+                size,
+                r -> KeysetCursor.of(r.getCreated(), r.getId()),
+                this::toItemRequestDtos
+        );
     }
 
     @Override
     public ItemRequestDto getRequestById(Long requestId, Long requesterId) {
-        userService.getByIdOrNotFoundError(requesterId);
-        return ItemRequestMapper.toItemRequestDto(getByIdOrNotFoundError(requestId));
+        userService.checkExistsOrNotFoundError(requesterId);
+        return toItemRequestDtos(List.of(getByIdOrNotFoundError(requestId))).get(0);
     }
 
     @Override
@@ -62,4 +79,18 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("not found request #" + requestId));
     }
+
+    // answering items of all requests in one query instead of a lazy load per request
+    private List<ItemRequestDto> toItemRequestDtos(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, List<ItemDto>> items = itemRepository
+                .findByRequestIds(requests.stream().map(ItemRequest::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+        return requests.stream()
+                .map(r -> ItemRequestMapper.toItemRequestDto(r, items.getOrDefault(r.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
 }
@@ -6,6 +6,7 @@ import lombok.experimental.FieldDefaults;
 @Getter
 @Setter
 @Builder
+@AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class UserDto {
     Long id;
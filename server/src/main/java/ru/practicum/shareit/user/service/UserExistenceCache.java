@@ -0,0 +1,131 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.TransactionHooks;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap over ids of existing users, kept in step with user create/delete of this server after commit and reloaded
+ * from the DB periodically, so users deleted by other servers are seen after the next reload.
+ * A set bit means the user exists; a clear bit (or an id outside the int range) is rechecked in the DB.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserExistenceCache {
+    private static final int LOAD_CHUNK = 50_000;
+
+    private final UserRepository userRepository;
+    private final BitSet addedDuringLoad = new BitSet();
+    private final BitSet removedDuringLoad = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private BitSet ids = new BitSet();
+    private boolean loading;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        load();
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.users.existence-reload-millis:600000}",
+            initialDelayString = "${shareit.users.existence-reload-millis:600000}")
+    public void reload() {
+        load();
+    }
+
+    public boolean exists(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        if (isIndexable(userId)) {
+            lock.readLock().lock();
+            try {
+                if (ids.get(userId.intValue())) {
+                    return true;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return userRepository.existsById(userId);
+    }
+
+    public void add(Long userId) {
+        if (isIndexable(userId)) {
+            TransactionHooks.afterCommit(() -> write(() -> {
+                ids.set(userId.intValue());
+                if (loading) {
+                    addedDuringLoad.set(userId.intValue());
+                    removedDuringLoad.clear(userId.intValue());
+                }
+            }));
+        }
+    }
+
+    public void remove(Long userId) {
+        if (isIndexable(userId)) {
+            TransactionHooks.afterCommit(() -> write(() -> {
+                ids.clear(userId.intValue());
+                if (loading) {
+                    removedDuringLoad.set(userId.intValue());
+                    addedDuringLoad.clear(userId.intValue());
+                }
+            }));
+        }
+    }
+
+    // the loaded bitmap replaces the current one, changes committed while loading are replayed on it
+    private synchronized void load() {
+        BitSet loaded = new BitSet();
+        write(() -> loading = true);
+        try {
+            long after = 0L;
+            List<Long> chunk;
+            do {
+                chunk = userRepository.findIdsAfter(after, PageRequest.of(0, LOAD_CHUNK));
+                chunk.stream().filter(UserExistenceCache::isIndexable).forEach(id -> loaded.set(id.intValue()));
+                if (!chunk.isEmpty()) {
+                    after = chunk.get(chunk.size() - 1);
+                }
+            } while (chunk.size() == LOAD_CHUNK);
+            write(() -> {
+                loaded.or(addedDuringLoad);
+                loaded.andNot(removedDuringLoad);
+                ids = loaded;
+            });
+            log.info("User existence cache is loaded: {} users", loaded.cardinality());
+        } catch (RuntimeException ex) {
+            log.warn("User existence cache load failed, unknown users are checked in the DB: {}", ex.getMessage());
+        } finally {
+            write(() -> {
+                loading = false;
+                addedDuringLoad.clear();
+                removedDuringLoad.clear();
+            });
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isIndexable(Long userId) {
+        return userId != null && userId >= 0 && userId <= Integer.MAX_VALUE;
+    }
+}
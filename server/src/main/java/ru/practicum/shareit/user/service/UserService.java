@@ -17,4 +17,6 @@ public interface UserService {
     void delete(Long userId);
 
     User getByIdOrNotFoundError(Long userId);
+
+    void checkExistsOrNotFoundError(Long userId);
 }
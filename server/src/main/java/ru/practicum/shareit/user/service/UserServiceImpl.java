@@ -4,11 +4,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.handler.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.util.TransactionHooks;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.Collection;
 import java.util.stream.Collectors;
 
@@ -17,12 +22,16 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final UserExistenceCache userExistenceCache;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Override
     @Transactional
     public UserDto create(UserDto userDto) {
-        User user = UserMapper.toUser(userDto);
-        return UserMapper.toUserDto(userRepository.save(user));
+        User user = userRepository.save(UserMapper.toUser(userDto));
+        userExistenceCache.add(user.getId());
+        return UserMapper.toUserDto(user);
     }
 
     @Override
@@ -54,7 +63,15 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void delete(Long userId) {
-        userRepository.delete(getByIdOrNotFoundError(userId));
+        User user = getByIdOrNotFoundError(userId);
+        itemSearchIndex.removeByOwnerId(userId);
+        userRepository.delete(user);
+        userExistenceCache.remove(userId);
+        // items and requests of the user are deleted by the DB cascade, bypassing the second-level cache
+        TransactionHooks.afterCommit(() -> {
+            entityManagerFactory.getCache().evict(Item.class);
+            entityManagerFactory.getCache().evict(ItemRequest.class);
+        });
     }
 
     @Override
@@ -62,4 +79,11 @@ public class UserServiceImpl implements UserService {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("not found user by id " + userId));
     }
+
+    @Override
+    public void checkExistsOrNotFoundError(Long userId) {
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("not found user by id " + userId);
+        }
+    }
 }
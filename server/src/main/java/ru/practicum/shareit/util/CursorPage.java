@@ -0,0 +1,50 @@
+package ru.practicum.shareit.util;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.handler.exception.BadRequestException;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class CursorPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    // one row over the page size tells whether a next page exists
+    public static Pageable limit(int size) {
+        if (size < 1) {
+            throw new BadRequestException("not positive value in pagination");
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    public static <E, T> CursorPage<T> of(
+            List<E> rows,
+            int size,
+            Function<E, KeysetCursor> cursor,
+            Function<List<E>, List<T>> mapper
+    ) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(mapper.apply(rows), null);
+        }
+        List<E> page = rows.subList(0, size);
+        return new CursorPage<>(mapper.apply(page), cursor.apply(page.get(size - 1)).encode());
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(content);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.util;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+
+/**
+ * JCache manager of the Hibernate second-level cache regions (application.conf), shared with the metrics:
+ * cache.gets, cache.puts and cache.evictions of every region come from the JCache statistics of its cache,
+ * without the statistics of every Hibernate session.
+ */
+@Configuration
+public class EntityCacheConfig {
+    // regions of @Cache on the entities
+    public static final List<String> REGIONS = List.of("users", "items", "item-requests");
+
+    // closed by Hibernate with the session factory; the manager is JVM-wide and may still serve other contexts
+    @Bean(destroyMethod = "")
+    public CacheManager entityCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheManagerCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    @Bean
+    public MeterBinder entityCacheMetrics(CacheManager entityCacheManager) {
+        return registry -> REGIONS.forEach(region -> JCacheMetrics.monitor(registry, entityCacheManager.getCache(region)));
+    }
+}
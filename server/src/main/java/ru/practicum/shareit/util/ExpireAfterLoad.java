@@ -0,0 +1,29 @@
+package ru.practicum.shareit.util;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+
+// expires cache entries a fixed time after they are loaded, changes made in place do not extend it
+public class ExpireAfterLoad<K, V> implements Expiry<K, V> {
+    private final long nanos;
+
+    public ExpireAfterLoad(Duration duration) {
+        this.nanos = duration.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(K key, V value, long currentTime) {
+        return nanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.util;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.handler.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Opaque continuation token of keyset pagination: sort key of the last row of a page and its id.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class KeysetCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime time;
+    private final Long id;
+
+    public static KeysetCursor of(LocalDateTime time, Long id) {
+        return new KeysetCursor(time, id);
+    }
+
+    public static KeysetCursor of(Long id) {
+        return new KeysetCursor(null, id);
+    }
+
+    // blank token requests the first page
+    public static Optional<KeysetCursor> decode(String token) {
+        if (token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+            if (parts.length != 2) {
+                throw new BadRequestException("invalid cursor");
+            }
+            LocalDateTime time = (parts[0].isEmpty()) ? null : LocalDateTime.parse(parts[0]);
+            return Optional.of(new KeysetCursor(time, Long.parseLong(parts[1])));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException("invalid cursor");
+        }
+    }
+
+    // pages sorted by time need the time of the last row, an id-only token would match nothing
+    public static Optional<KeysetCursor> decodeTimed(String token) {
+        Optional<KeysetCursor> cursor = decode(token);
+        if (cursor.isPresent() && cursor.get().getTime() == null) {
+            throw new BadRequestException("invalid cursor");
+        }
+        return cursor;
+    }
+
+    public String encode() {
+        String value = ((time == null) ? "" : time.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
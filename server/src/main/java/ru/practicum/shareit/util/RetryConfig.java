@@ -0,0 +1,45 @@
+package ru.practicum.shareit.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.retry.listener.RetryListenerSupport;
+
+/**
+ * Retries of writes that lost a race with a concurrent transaction. The retry advice wraps the transaction,
+ * so every attempt reads the rows again in a new transaction.
+ */
+@Configuration
+@EnableRetry
+public class RetryConfig {
+    public static final int MAX_ATTEMPTS = 3;
+    public static final long MIN_BACKOFF_MILLIS = 10;
+    public static final long MAX_BACKOFF_MILLIS = 100;
+    public static final String CONFLICTS_METRIC = "shareit.concurrent.update.conflicts";
+
+    // counts lost races by operation (@Retryable label), outcome is retried or exhausted; the retry annotation
+    // post-processor creates listeners early, the registry is looked up on use so that it is still configured
+    // with the meter binders
+    @Bean
+    public RetryListener conflictsMetricRetryListener(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RetryListenerSupport() {
+            @Override
+            public <T, E extends Throwable> void onError(
+                    RetryContext context, RetryCallback<T, E> callback, Throwable throwable
+            ) {
+                boolean exhausted = context.getRetryCount() >= MAX_ATTEMPTS;
+                Counter.builder(CONFLICTS_METRIC)
+                        .tag("operation", String.valueOf(context.getAttribute(RetryContext.NAME)))
+                        .tag("outcome", (exhausted) ? "exhausted" : "retried")
+                        .register(meterRegistry.getObject())
+                        .increment();
+            }
+        };
+    }
+}
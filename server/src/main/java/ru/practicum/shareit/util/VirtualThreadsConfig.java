@@ -0,0 +1,35 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling on virtual threads instead of the platform thread pool, needs a JDK 21 runtime.
+ * The gateway has the same class: the modules are separate applications without a shared code module, keep
+ * both copies in sync.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadPerTaskExecutor() {
+        // looked up by reflection while the sources still target Java 11
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("virtual-threads profile needs a JDK 21 runtime", ex);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer(
+            ExecutorService virtualThreadPerTaskExecutor
+    ) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadPerTaskExecutor);
+    }
+}
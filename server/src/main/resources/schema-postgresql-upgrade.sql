@@ -0,0 +1,36 @@
+-- upgrades of tables created by older versions, each done once: ALTER TABLE locks the whole table, on every start it
+-- would queue behind the transactions of the running instances and block their traffic. A fresh database has no
+-- tables yet, schema.sql creates them with the new columns.
+
+-- bookings store the owner of the item, filled in from the items
+DO '
+BEGIN
+    IF to_regclass(''bookings'') IS NULL OR EXISTS (
+        SELECT 1 FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = ''bookings'' AND column_name = ''owner_id''
+    ) THEN
+        RETURN;
+    END IF;
+    ALTER TABLE bookings ADD COLUMN owner_id BIGINT;
+    UPDATE bookings SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = bookings.item_id);
+    ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+    ALTER TABLE bookings ADD CONSTRAINT fk_booking_owner FOREIGN KEY (owner_id)
+        REFERENCES users (id) ON DELETE CASCADE;
+END';
+
+-- versions of the optimistic locks of items and bookings
+DO '
+BEGIN
+    IF to_regclass(''items'') IS NOT NULL AND NOT EXISTS (
+        SELECT 1 FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = ''items'' AND column_name = ''version''
+    ) THEN
+        ALTER TABLE items ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+    END IF;
+    IF to_regclass(''bookings'') IS NOT NULL AND NOT EXISTS (
+        SELECT 1 FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = ''bookings'' AND column_name = ''version''
+    ) THEN
+        ALTER TABLE bookings ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+    END IF;
+END';
@@ -0,0 +1,67 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items
+    USING gin (upper(name) gin_trgm_ops) WHERE available;
+
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items
+    USING gin (upper(description) gin_trgm_ops) WHERE available;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- last line of defence against overlapping approved bookings of an item, the service checks them under an item lock.
+-- Added only when missing, building it locks bookings. Overlapping approved bookings stored before it are fixed
+-- first, once: of those of an item the earliest approved (lowest id) stays, the later ones are rejected.
+DO '
+DECLARE
+    booking RECORD;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_approved_overlap'') THEN
+        RETURN;
+    END IF;
+    FOR booking IN SELECT id, item_id, start_at, end_at FROM bookings WHERE status = ''APPROVED'' ORDER BY id LOOP
+        UPDATE bookings SET status = ''REJECTED'', version = version + 1
+        WHERE id = booking.id AND EXISTS (
+            SELECT 1 FROM bookings o
+            WHERE o.item_id = booking.item_id AND o.status = ''APPROVED'' AND o.id < booking.id
+                AND o.end_at > booking.start_at AND o.start_at < booking.end_at
+        );
+        IF FOUND THEN
+            RAISE WARNING ''booking % rejected, it overlaps an earlier approved booking of item %'',
+                booking.id, booking.item_id;
+        END IF;
+    END LOOP;
+    ALTER TABLE bookings ADD CONSTRAINT ex_bookings_approved_overlap
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_at, end_at) WITH &&) WHERE (status = ''APPROVED'');
+END';
+
+-- ids were identity columns, Hibernate now takes them from the *_seq sequences 50 at a time; sequences only move up
+-- the pooled optimizer hands out ids v - 49 .. v for a sequence value v, so after setval(max) ids go on from max + 1;
+-- archived bookings keep their ids, bookings_seq has to stay above them as well
+
+-- dropped once, ALTER TABLE locks the whole table on every start otherwise
+DO '
+DECLARE
+    identity RECORD;
+BEGIN
+    FOR identity IN SELECT table_name FROM information_schema.columns
+        WHERE table_schema = current_schema() AND column_name = ''id'' AND is_identity = ''YES''
+            AND table_name IN (''users'', ''item_requests'', ''items'', ''comments'', ''bookings'') LOOP
+        EXECUTE format(''ALTER TABLE %I ALTER COLUMN id DROP IDENTITY'', identity.table_name);
+    END LOOP;
+END';
+
+SELECT setval('users_seq',
+    GREATEST((SELECT COALESCE(MAX(id), 0) FROM users), (SELECT last_value FROM users_seq)));
+
+SELECT setval('item_requests_seq',
+    GREATEST((SELECT COALESCE(MAX(id), 0) FROM item_requests), (SELECT last_value FROM item_requests_seq)));
+
+SELECT setval('items_seq',
+    GREATEST((SELECT COALESCE(MAX(id), 0) FROM items), (SELECT last_value FROM items_seq)));
+
+SELECT setval('comments_seq',
+    GREATEST((SELECT COALESCE(MAX(id), 0) FROM comments), (SELECT last_value FROM comments_seq)));
+
+SELECT setval('bookings_seq',
+    GREATEST((SELECT COALESCE(MAX(id), 0) FROM bookings), (SELECT COALESCE(MAX(id), 0) FROM bookings_archive),
+        (SELECT last_value FROM bookings_seq)));
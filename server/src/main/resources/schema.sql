@@ -1,5 +1,15 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS item_requests_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL,
     name VARCHAR(63) NOT NULL,
     email VARCHAR(511) NOT NULL,
     CONSTRAINT pk_user PRIMARY KEY (id),
@@ -7,7 +17,7 @@ CREATE TABLE IF NOT EXISTS users (
 );
 
 CREATE TABLE IF NOT EXISTS item_requests (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL,
     requester_id BIGINT NOT NULL,
     description VARCHAR(511) NOT NULL,
     created TIMESTAMP NOT NULL DEFAULT NOW(),
@@ -17,12 +27,13 @@ CREATE TABLE IF NOT EXISTS item_requests (
 );
 
 CREATE TABLE IF NOT EXISTS items (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL,
     name VARCHAR(63) NOT NULL,
     description VARCHAR(511) NOT NULL,
     available BOOLEAN NOT NULL,
     owner_id BIGINT NOT NULL,
     request_id BIGINT DEFAULT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT pk_item PRIMARY KEY (id),
     CONSTRAINT fk_owner FOREIGN KEY (owner_id)
         REFERENCES users (id) ON DELETE CASCADE,
@@ -31,7 +42,7 @@ CREATE TABLE IF NOT EXISTS items (
 );
 
 CREATE TABLE IF NOT EXISTS comments (
-    id BIGINT GENERATED  BY DEFAULT  AS IDENTITY  NOT NULL,
+    id BIGINT NOT NULL,
     author_id BIGINT NOT NULL,
     text VARCHAR(511) NOT NULL,
     item_id BIGINT NOT NULL,
@@ -44,16 +55,74 @@ CREATE TABLE IF NOT EXISTS comments (
 );
 
 CREATE TABLE IF NOT EXISTS bookings (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL,
     start_at TIMESTAMP NOT NULL,
     end_at TIMESTAMP NOT NULL,
     item_id BIGINT NOT NULL,
     booker_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
     status VARCHAR(511) NOT NULL,
     created TIMESTAMP NOT NULL DEFAULT NOW(),
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT pk_booking PRIMARY KEY (id),
     CONSTRAINT fk_item_booking FOREIGN KEY (item_id)
         REFERENCES items (id) ON DELETE CASCADE,
     CONSTRAINT fk_booker FOREIGN KEY (booker_id)
+        REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_booking_owner FOREIGN KEY (owner_id)
+        REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS bookings_archive (
+    id BIGINT NOT NULL,
+    start_at TIMESTAMP NOT NULL,
+    end_at TIMESTAMP NOT NULL,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
+    status VARCHAR(511) NOT NULL,
+    created TIMESTAMP NOT NULL,
+    version BIGINT NOT NULL,
+    CONSTRAINT pk_booking_archive PRIMARY KEY (id),
+    CONSTRAINT fk_item_booking_archive FOREIGN KEY (item_id)
+        REFERENCES items (id) ON DELETE CASCADE,
+    CONSTRAINT fk_booker_archive FOREIGN KEY (booker_id)
+        REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_booking_owner_archive FOREIGN KEY (owner_id)
         REFERENCES users (id) ON DELETE CASCADE
 );
+
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_item_requests_requester_created ON item_requests (requester_id, created DESC);
+
+CREATE INDEX IF NOT EXISTS idx_item_requests_created ON item_requests (created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_end ON bookings (booker_id, end_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_end ON bookings (booker_id, status, end_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_end ON bookings (owner_id, end_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_status_end ON bookings (owner_id, status, end_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_at);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_booker_status_start ON bookings (item_id, booker_id, status, start_at);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_end ON bookings (end_at);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_booker_end ON bookings_archive (booker_id, end_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_booker_status_end ON bookings_archive (booker_id, status, end_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_owner_end ON bookings_archive (owner_id, end_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_owner_status_end ON bookings_archive (owner_id, status, end_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_item_booker_status_start
+    ON bookings_archive (item_id, booker_id, status, start_at);
@@ -0,0 +1,269 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// schema scripts run on a real PostgreSQL, the other tests only see H2
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresSchemaTest {
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @Test
+    @DisplayName("Server starts on an empty PostgreSQL database and restarts on it")
+    void startOnEmptyDatabase_createsSchema() throws SQLException {
+        // Arrange
+        String url = createDatabase("empty");
+
+        // Act
+        try (ConfigurableApplicationContext context = start(url)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            // Asserts
+            assertThat(jdbcTemplate.queryForList("SELECT indexname FROM pg_indexes", String.class))
+                    .contains("idx_items_name_trgm", "idx_items_description_trgm", "idx_bookings_booker_end");
+        }
+        start(url).close();
+    }
+
+    @Test
+    @DisplayName("Overlapping approved bookings are fixed once before the exclusion constraint is added")
+    void startWithOverlappingApproved_rejectsLaterOnesAndAddsConstraintOnce() throws SQLException {
+        // Arrange
+        String url = createDatabase("overlapping");
+        start(url).close();
+        execute(url,
+                "ALTER TABLE bookings DROP CONSTRAINT ex_bookings_approved_overlap",
+                "INSERT INTO users (id, name, email) VALUES (1, 'Owner', 'owner@mail.com'), "
+                        + "(2, 'Booker', 'booker@mail.com')",
+                "INSERT INTO items (id, name, description, available, owner_id) "
+                        + "VALUES (1, 'Item', 'description', true, 1)",
+                "INSERT INTO bookings (id, start_at, end_at, item_id, booker_id, owner_id, status) VALUES "
+                        + "(1, '2030-01-01 10:00', '2030-01-01 12:00', 1, 2, 1, 'APPROVED'), "
+                        + "(2, '2030-01-01 11:00', '2030-01-01 14:00', 1, 2, 1, 'APPROVED'), "
+                        + "(3, '2030-01-01 13:00', '2030-01-01 15:00', 1, 2, 1, 'APPROVED')"
+        );
+
+        // Act
+        long constraintId;
+        try (ConfigurableApplicationContext context = start(url)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            // Asserts
+            assertThat(jdbcTemplate.queryForList("SELECT status FROM bookings ORDER BY id", String.class))
+                    .containsExactly("APPROVED", "REJECTED", "APPROVED");
+            constraintId = findConstraintId(jdbcTemplate);
+        }
+        try (ConfigurableApplicationContext context = start(url)) {
+            assertThat(findConstraintId(context.getBean(JdbcTemplate.class))).isEqualTo(constraintId);
+        }
+    }
+
+    @Test
+    @DisplayName("Bookings stored before the owner column get the owner of their item")
+    void startOnBookingsWithoutOwner_fillsOwnerFromItems() throws SQLException {
+        // Arrange
+        String url = createDatabase("without_owner");
+        start(url).close();
+        execute(url,
+                "ALTER TABLE bookings DROP COLUMN owner_id",
+                "INSERT INTO users (id, name, email) VALUES (1, 'Owner', 'owner@mail.com'), "
+                        + "(2, 'Booker', 'booker@mail.com')",
+                "INSERT INTO items (id, name, description, available, owner_id) "
+                        + "VALUES (1, 'Item', 'description', true, 1)",
+                "INSERT INTO bookings (id, start_at, end_at, item_id, booker_id, status) "
+                        + "VALUES (1, '2030-01-01 10:00', '2030-01-01 12:00', 1, 2, 'APPROVED')"
+        );
+
+        // Act
+        try (ConfigurableApplicationContext context = start(url)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            // Asserts
+            assertThat(jdbcTemplate.queryForObject("SELECT owner_id FROM bookings WHERE id = 1", Long.class))
+                    .isEqualTo(1L);
+            assertThat(jdbcTemplate.queryForList("SELECT indexname FROM pg_indexes", String.class))
+                    .contains("idx_bookings_owner_end", "idx_bookings_owner_status_end");
+        }
+    }
+
+    @Test
+    @DisplayName("Items and bookings stored before optimistic locking start at version 0")
+    void startOnTablesWithoutVersion_addsVersionColumns() throws SQLException {
+        // Arrange
+        String url = createDatabase("without_version");
+        start(url).close();
+        execute(url,
+                "ALTER TABLE items DROP COLUMN version",
+                "ALTER TABLE bookings DROP COLUMN version",
+                "INSERT INTO users (id, name, email) VALUES (1, 'Owner', 'owner@mail.com')",
+                "INSERT INTO items (id, name, description, available, owner_id) "
+                        + "VALUES (1, 'Item', 'description', true, 1)"
+        );
+
+        // Act
+        try (ConfigurableApplicationContext context = start(url)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            // Asserts
+            assertThat(jdbcTemplate.queryForObject("SELECT version FROM items WHERE id = 1", Long.class))
+                    .isZero();
+            assertThat(jdbcTemplate.queryForList("SELECT column_name FROM information_schema.columns "
+                    + "WHERE table_name = 'bookings'", String.class)).contains("version");
+        }
+    }
+
+    @Test
+    @DisplayName("Server restarts while transactions read the tables, schema scripts take no exclusive locks")
+    void restartWhileTablesRead_noExclusiveLocks() throws SQLException {
+        // Arrange
+        String url = createDatabase("in_use");
+        start(url).close();
+
+        // Act
+        try (Connection connection = DriverManager.getConnection(
+                url, POSTGRES.getUsername(), POSTGRES.getPassword());
+             Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            statement.execute("SELECT 1 FROM users, item_requests, items, comments, bookings, bookings_archive");
+            // a statement waiting for an ACCESS EXCLUSIVE lock fails the start instead of waiting for the reader
+            start(url, "--spring.datasource.hikari.connection-init-sql=SET lock_timeout = '5s'").close();
+            connection.rollback();
+        }
+    }
+
+    @Test
+    @DisplayName("Ids taken from the sequences go on after the rows inserted with identity columns")
+    void startOnIdentityColumns_newIdsDoNotCollide() throws SQLException {
+        // Arrange
+        String url = createDatabase("identity");
+        execute(url,
+                "CREATE TABLE users (id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL, name VARCHAR(63) NOT NULL, "
+                        + "email VARCHAR(511) NOT NULL, CONSTRAINT pk_user PRIMARY KEY (id), "
+                        + "CONSTRAINT UQ_USER_EMAIL UNIQUE (email))",
+                "INSERT INTO users (name, email) SELECT 'User', 'user' || n || '@mail.com' "
+                        + "FROM generate_series(1, 60) n"
+        );
+        Set<Long> ids = new HashSet<>();
+
+        // Act
+        try (ConfigurableApplicationContext context = start(url)) {
+            ids.addAll(saveUsers(context, "first", 60));
+        }
+        try (ConfigurableApplicationContext context = start(url)) {
+            ids.addAll(saveUsers(context, "second", 60));
+        }
+
+        // Asserts
+        assertThat(ids).hasSize(120).allSatisfy(id -> assertThat(id).isGreaterThan(60L));
+    }
+
+    @Test
+    @DisplayName("Booking ids go on after the ids of archived bookings")
+    void startWithArchivedBookings_newBookingIdsAboveArchived() throws SQLException {
+        // Arrange
+        String url = createDatabase("archived");
+        start(url).close();
+        execute(url,
+                "INSERT INTO users (id, name, email) VALUES (1, 'Owner', 'owner@mail.com'), "
+                        + "(2, 'Booker', 'booker@mail.com')",
+                "INSERT INTO items (id, name, description, available, owner_id) "
+                        + "VALUES (1, 'Item', 'description', true, 1)",
+                "INSERT INTO bookings_archive (id, start_at, end_at, item_id, booker_id, owner_id, status, created, "
+                        + "version) VALUES (500, '2020-01-01 10:00', '2020-01-01 12:00', 1, 2, 1, 'APPROVED', "
+                        + "'2019-12-01 10:00', 0)"
+        );
+
+        // Act
+        Booking booking;
+        try (ConfigurableApplicationContext context = start(url)) {
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            booking = context.getBean(BookingRepository.class).save(Booking.builder()
+                    .item(context.getBean(ItemRepository.class).findById(1L).orElseThrow())
+                    .owner(userRepository.findById(1L).orElseThrow())
+                    .booker(userRepository.findById(2L).orElseThrow())
+                    .start(start)
+                    .end(start.plusDays(1))
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+
+        // Asserts
+        assertThat(booking.getId()).isGreaterThan(500L);
+    }
+
+    private static List<Long> saveUsers(ConfigurableApplicationContext context, String prefix, int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder().name("User").email(prefix + i + "@mail.com").build());
+        }
+        return context.getBean(UserRepository.class).saveAll(users).stream()
+                .map(User::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static long findConstraintId(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject(
+                "SELECT oid FROM pg_constraint WHERE conname = 'ex_bookings_approved_overlap'", Long.class
+        );
+    }
+
+    static String createDatabase(String name) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + name);
+        }
+        return "jdbc:postgresql://" + POSTGRES.getHost() + ":" + POSTGRES.getMappedPort(5432) + "/" + name;
+    }
+
+    static void execute(String url, String... sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, POSTGRES.getUsername(), POSTGRES.getPassword());
+             Statement statement = connection.createStatement()) {
+            for (String query : sql) {
+                statement.execute(query);
+            }
+        }
+    }
+
+    // the surefire test profile switches to H2, the default profile is the production PostgreSQL setup;
+    // closing a context would close the JVM-wide JCache manager of the entity cache under the other test contexts
+    static ConfigurableApplicationContext start(String url, String... args) {
+        List<String> allArgs = new ArrayList<>(List.of(
+                "--spring.profiles.active=default",
+                "--server.port=0",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + POSTGRES.getUsername(),
+                "--spring.datasource.password=" + POSTGRES.getPassword()
+        ));
+        allArgs.addAll(List.of(args));
+        return new SpringApplicationBuilder(ShareItServer.class).run(allArgs.toArray(String[]::new));
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +18,7 @@ import ru.practicum.shareit.booking.dto.BookingAdvancedDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.util.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -82,6 +84,130 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value("WAITING"));
     }
 
+    @Test
+    @DisplayName("POST create bookings in batch at /bookings/batch")
+    void createBatch() throws Exception {
+        String booking = "{\"itemId\": %d, " +
+                "\"start\": \"" + now.plusMinutes(1) + "\", " +
+                "\"end\": \"" + now.plusDays(10) + "\"}";
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, booker.getId())
+                        .content("[" + String.format(booking, item.getId()) + ", " +
+                                String.format(booking, 999_999L) + ", " +
+                                String.format(booking, item.getId()) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].booking.id").isNumber())
+                .andExpect(jsonPath("$[0].booking.item.id").value(item.getId()))
+                .andExpect(jsonPath("$[0].booking.booker.id").value(booker.getId()))
+                .andExpect(jsonPath("$[0].booking.status").value("WAITING"))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].error").value("not found item #999999"))
+                .andExpect(jsonPath("$[2].status").value(200));
+        mockMvc.perform(get("/bookings")
+                        .header(userHeader, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("POST create bookings in batch of own item")
+    void createBatchOfOwnItem() throws Exception {
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, owner.getId())
+                        .content("[{\"itemId\": " + item.getId() + ", " +
+                                "\"start\": \"" + now.plusMinutes(1) + "\", " +
+                                "\"end\": \"" + now.plusDays(10) + "\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(404))
+                .andExpect(jsonPath("$[0].error").value("not found item of user"))
+                .andExpect(jsonPath("$[0].booking").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("PATCH approve bookings in batch at /bookings/batch")
+    void approveBatch() throws Exception {
+        String booking = "{\"itemId\": " + item.getId() + ", " +
+                "\"start\": \"" + now.plusMinutes(1) + "\", " +
+                "\"end\": \"" + now.plusDays(10) + "\"}";
+        MvcResult mvcResult = mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, booker.getId())
+                        .content("[" + booking + ", " + booking + "]"))
+                .andReturn();
+        List<Integer> ids = JsonPath.read(mvcResult.getResponse().getContentAsString(), "$[*].booking.id");
+        mockMvc.perform(patch("/bookings/" + ids.get(1) + "?approved=false")
+                        .header(userHeader, owner.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/bookings/batch?approved=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, owner.getId())
+                        .content("[" + ids.get(0) + ", " + ids.get(1) + ", 999999]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].booking.id").value(ids.get(0)))
+                .andExpect(jsonPath("$[0].booking.status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].error").value("booking already approved/rejected/canceled"))
+                .andExpect(jsonPath("$[2].status").value(404))
+                .andExpect(jsonPath("$[2].error").value("not found booking #999999"));
+        mockMvc.perform(patch("/bookings/batch?approved=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, booker.getId())
+                        .content("[" + ids.get(0) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(404));
+    }
+
+    @Test
+    @DisplayName("Reject bookings overlapping approved booking of item")
+    void rejectOverlappingApproved() throws Exception {
+        String booking = "{\"itemId\": " + item.getId() + ", \"start\": \"%s\", \"end\": \"%s\"}";
+        MvcResult mvcResult = mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, booker.getId())
+                        .content("[" + String.format(booking, now.plusDays(1), now.plusDays(10)) + ", " +
+                                String.format(booking, now.plusDays(5), now.plusDays(15)) + ", " +
+                                String.format(booking, now.plusDays(10), now.plusDays(12)) + ", " +
+                                String.format(booking, now.plusDays(20), now.plusDays(22)) + ", " +
+                                String.format(booking, now.plusDays(21), now.plusDays(23)) + "]"))
+                .andReturn();
+        List<Integer> ids = JsonPath.read(mvcResult.getResponse().getContentAsString(), "$[*].booking.id");
+
+        mockMvc.perform(patch("/bookings/" + ids.get(0) + "?approved=true")
+                        .header(userHeader, owner.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/bookings/" + ids.get(1) + "?approved=true")
+                        .header(userHeader, owner.getId()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("booking overlaps approved booking #" + ids.get(0)));
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, booker.getId())
+                        .content(String.format(booking, now.plusDays(2), now.plusDays(3))))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, booker.getId())
+                        .content("[" + String.format(booking, now.plusDays(2), now.plusDays(3)) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(409));
+        mockMvc.perform(patch("/bookings/batch?approved=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, owner.getId())
+                        .content("[" + ids.get(2) + ", " + ids.get(3) + ", " + ids.get(4) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(200))
+                .andExpect(jsonPath("$[2].status").value(409))
+                .andExpect(jsonPath("$[2].error").value("booking overlaps approved booking #" + ids.get(3)));
+    }
+
     @Test
     @DisplayName("GET booking of booker by all state /bookings")
     void getBookingsByStateOfBooker() throws Exception {
@@ -232,6 +358,92 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.length()").value(before.size() + 1));
     }
 
+    @Test
+    @DisplayName("GET booking of owner by cursor pages /bookings/owner")
+    void getBookingsOfOwnerByCursor() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/bookings")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(userHeader, booker.getId())
+                    .content("{\"itemId\": " + item.getId() + ", " +
+                            "\"bookerId\": " + booker.getId() + ", " +
+                            "\"start\": \"" + now.plusDays(i) + "\", " +
+                            "\"end\": \"" + now.plusDays(10) + "\"}"));
+        }
+        MvcResult mvcResult = mockMvc.perform(get("/bookings/owner?state=all&size=2&cursor=")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+        List<BookingAdvancedDto> firstPage = objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(), new TypeReference<List<BookingAdvancedDto>>(){});
+        mockMvc.perform(get("/bookings/owner?state=all&size=2")
+                        .param("cursor", mvcResult.getResponse().getHeader("X-Next-Cursor"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$.[0].id").value(firstPage.get(1).getId() - 1))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+        mockMvc.perform(get("/bookings/owner?state=all&size=2&cursor=wrong")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, owner.getId()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/bookings/owner?state=all&size=2")
+                        .param("cursor", KeysetCursor.of(firstPage.get(1).getId()).encode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, owner.getId()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET counts of bookings by state /bookings/counts and X-Total-Count of lists")
+    void getCountsOfBookings() throws Exception {
+        mockMvc.perform(get("/bookings/counts")
+                        .header(userHeader, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ALL").value(0))
+                .andExpect(jsonPath("$.WAITING").value(0));
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/bookings")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(userHeader, booker.getId())
+                    .content("{\"itemId\": " + item.getId() + ", " +
+                            "\"bookerId\": " + booker.getId() + ", " +
+                            "\"start\": \"" + now.plusDays(i) + "\", " +
+                            "\"end\": \"" + now.plusDays(i).plusHours(1) + "\"}"));
+        }
+        MvcResult mvcResult = mockMvc.perform(get("/bookings/owner?state=waiting&size=1")
+                        .header(userHeader, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andReturn();
+        List<BookingAdvancedDto> waiting = objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(), new TypeReference<List<BookingAdvancedDto>>(){});
+        mockMvc.perform(patch("/bookings/" + waiting.get(0).getId() + "?approved=false")
+                .header(userHeader, owner.getId()));
+        mockMvc.perform(get("/bookings/counts")
+                        .header(userHeader, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ALL").value(3))
+                .andExpect(jsonPath("$.FUTURE").value(3))
+                .andExpect(jsonPath("$.CURRENT").value(0))
+                .andExpect(jsonPath("$.PAST").value(0))
+                .andExpect(jsonPath("$.WAITING").value(2))
+                .andExpect(jsonPath("$.REJECTED").value(1));
+        mockMvc.perform(get("/bookings?state=rejected&size=2&cursor=")
+                        .header(userHeader, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"));
+        mockMvc.perform(get("/bookings/owner/counts")
+                        .header(userHeader, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ALL").value(3));
+    }
+
     @Test
     @DisplayName("GET booking of owner by current state /bookings")
     void getBookingsOfOwnerByStateCurrent() throws Exception {
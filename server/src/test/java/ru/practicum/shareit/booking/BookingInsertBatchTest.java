@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@Transactional
+class BookingInsertBatchTest {
+    private static final int BOOKING_COUNT = 1000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager entityManager;
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("booking-insert-batch-owner@email.com")
+                .build());
+        booker = userRepository.save(User.builder()
+                .name("Booker")
+                .email("booking-insert-batch-booker@email.com")
+                .build());
+        item = itemRepository.save(Item.builder()
+                .name("Item")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+        entityManager.flush();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Bookings are inserted in JDBC batches with ids from a pooled sequence")
+    void whenSaveAllBookings_thenInsertedInBatches() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKING_COUNT; i++) {
+            bookings.add(Booking.builder()
+                    .item(item)
+                    .owner(owner)
+                    .booker(booker)
+                    .start(now.plusDays(i))
+                    .end(now.plusDays(i).plusHours(1))
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+
+        // Act
+        long started = System.nanoTime();
+        bookingRepository.saveAll(bookings);
+        entityManager.flush();
+        long elapsedNanos = System.nanoTime() - started;
+
+        // Asserts
+        log.info("inserted {} bookings in {} ms, {} statements, {} rows/s", BOOKING_COUNT, elapsedNanos / 1_000_000,
+                statistics.getPrepareStatementCount(), BOOKING_COUNT * 1_000_000_000L / elapsedNanos);
+        // one sequence call and one insert batch per 50 bookings instead of one insert per booking
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * BOOKING_COUNT / BATCH_SIZE + 2);
+        assertThat(bookings).allSatisfy(b -> assertThat(b.getId()).isNotNull());
+    }
+}
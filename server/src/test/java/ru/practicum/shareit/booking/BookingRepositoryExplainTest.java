@@ -0,0 +1,160 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.util.FromSizeRequest;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.booking.BookingRepositoryExplainTest$SqlRecorder")
+@AutoConfigureTestDatabase
+class BookingRepositoryExplainTest {
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final FromSizeRequest PAGE = FromSizeRequest.of(0, 10);
+
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        SqlRecorder.STATEMENTS.clear();
+    }
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+                query("findByBooker_IdOrderByEndDesc",
+                        r -> r.findByBooker_IdOrderByEndDesc(1L, PAGE)),
+                query("findByBooker_IdAndEndLessThanOrderByEndDesc",
+                        r -> r.findByBooker_IdAndEndLessThanOrderByEndDesc(1L, NOW, PAGE)),
+                query("findAllByBookerIdCurrent",
+                        r -> r.findAllByBookerIdCurrent(1L, NOW, PAGE)),
+                query("findByBooker_IdAndStartGreaterThanOrderByEndDesc",
+                        r -> r.findByBooker_IdAndStartGreaterThanOrderByEndDesc(1L, NOW, PAGE)),
+                query("findByBooker_IdAndStatusOrderByEndDesc",
+                        r -> r.findByBooker_IdAndStatusOrderByEndDesc(1L, BookingStatus.WAITING, PAGE)),
+                query("findByOwner_IdOrderByEndDesc",
+                        r -> r.findByOwner_IdOrderByEndDesc(1L, PAGE)),
+                query("findByOwner_IdAndEndLessThanOrderByEndDesc",
+                        r -> r.findByOwner_IdAndEndLessThanOrderByEndDesc(1L, NOW, PAGE)),
+                query("findAllByOwnerIdCurrent",
+                        r -> r.findAllByOwnerIdCurrent(1L, NOW, PAGE)),
+                query("findByOwner_IdAndStartGreaterThanOrderByEndDesc",
+                        r -> r.findByOwner_IdAndStartGreaterThanOrderByEndDesc(1L, NOW, PAGE)),
+                query("findByOwner_IdAndStatusOrderByEndDesc",
+                        r -> r.findByOwner_IdAndStatusOrderByEndDesc(1L, BookingStatus.WAITING, PAGE)),
+                query("findPageOfBookerByState",
+                        r -> r.findPageOfBookerByState(1L, BookingState.PAST, NOW, KeysetCursor.of(NOW, 1L), 10)),
+                query("findPageOfOwnerByState",
+                        r -> r.findPageOfOwnerByState(1L, BookingState.WAITING, NOW, KeysetCursor.of(NOW, 1L), 10)),
+                query("findFirstByItem_IdAndEndLessThanEqualOrderByEndDesc",
+                        r -> r.findFirstByItem_IdAndEndLessThanEqualOrderByEndDesc(1L, NOW)),
+                query("findFirstByItem_IdAndEndGreaterThanEqualOrderByEndDesc",
+                        r -> r.findFirstByItem_IdAndEndGreaterThanEqualOrderByEndDesc(1L, NOW)),
+                query("findLastAndNextByItemIds",
+                        r -> r.findLastAndNextByItemIds(List.of(1L, 2L), NOW)),
+                query("existsByItem_IdAndBooker_Id",
+                        r -> r.existsByItem_IdAndBooker_Id(1L, 1L)),
+                query("findFirstByItem_IdAndBooker_IdAndStatusOrderByStartAsc",
+                        r -> r.findFirstByItem_IdAndBooker_IdAndStatusOrderByStartAsc(1L, 1L, BookingStatus.APPROVED)),
+                query("findApprovedOverlapping",
+                        r -> r.findApprovedOverlapping(List.of(1L, 2L), NOW, NOW.plusDays(1))),
+                query("countByBookerIdGroupByStatus",
+                        r -> r.countByBookerIdGroupByStatus(1L)),
+                query("countByOwnerIdGroupByStatus",
+                        r -> r.countByOwnerIdGroupByStatus(1L)),
+                query("findNotEndedByBookerId",
+                        r -> r.findNotEndedByBookerId(1L, NOW)),
+                query("findNotEndedByOwnerId",
+                        r -> r.findNotEndedByOwnerId(1L, NOW)),
+                query("findArchivedPageOfBookerByState",
+                        r -> r.findArchivedPageOfBookerByState(1L, BookingState.PAST, KeysetCursor.of(NOW, 1L), 0, 10)),
+                query("findArchivedPageOfOwnerByState",
+                        r -> r.findArchivedPageOfOwnerByState(1L, BookingState.REJECTED, null, 10, 10)),
+                query("countOfBookerByState",
+                        r -> r.countOfBookerByState(1L, BookingState.PAST, NOW))
+        );
+    }
+
+    // the plan is H2's; PostgreSQL plans by its own statistics and is not covered here
+    @DisplayName("Booking queries use indexes")
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void whenExplainQuery_thenNoTableScan(String name, Consumer<BookingRepository> query) {
+        // Act
+        query.accept(bookingRepository);
+        List<String> plans = SqlRecorder.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains("bookings"))
+                .map(this::explain)
+                .collect(Collectors.toList());
+
+        // Asserts
+        assertThat(plans).isNotEmpty();
+        assertThat(plans).allSatisfy(plan -> assertThat(plan).doesNotContainIgnoringCase("tableScan"));
+    }
+
+    @Test
+    @DisplayName("Owner booking queries filter by owner of booking, not of item")
+    void whenFindByOwner_thenFilterByBookingOwner() {
+        // Act
+        bookingRepository.findByOwner_IdOrderByEndDesc(1L, PAGE);
+        bookingRepository.findAllByOwnerIdCurrent(1L, NOW, PAGE);
+        bookingRepository.findByOwner_IdAndStatusOrderByEndDesc(1L, BookingStatus.WAITING, PAGE);
+
+        // Asserts
+        assertThat(SqlRecorder.STATEMENTS).hasSize(3);
+        assertThat(SqlRecorder.STATEMENTS).allSatisfy(sql -> assertThat(sql)
+                .containsPattern("where\\s+booking0_\\.owner_id=\\?")
+                .doesNotContainPattern("item\\d+_\\.owner_id"));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatement ps) -> {
+            for (int i = 1; i <= ps.getParameterMetaData().getParameterCount(); i++) {
+                ps.setObject(i, null);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        });
+    }
+
+    private static Arguments query(String name, Consumer<BookingRepository> query) {
+        return Arguments.of(name, query);
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.practicum.shareit.booking.dto.BookingAdvancedDto;
 import ru.practicum.shareit.booking.dto.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -71,6 +72,7 @@ class BookingRepositoryTest {
                 .end(end)
                 .status(BookingStatus.APPROVED)
                 .item(item)
+                .owner(owner)
                 .build());
         start = LocalDateTime.now().plusDays(1);
         bookingRepository.save(Booking.builder()
@@ -79,17 +81,20 @@ class BookingRepositoryTest {
                 .end(end)
                 .status(BookingStatus.APPROVED)
                 .item(item)
+                .owner(owner)
                 .build());
 
         // Act
-        List<Booking> testingBooking = bookingRepository.findAllByBookerIdCurrent(
+        List<BookingAdvancedDto> testingBooking = bookingRepository.findAllByBookerIdCurrent(
                 booker.getId(), LocalDateTime.now(), FromSizeRequest.of(0, 20)
         );
 
         // Asserts
         assertThat(testingBooking).isNotNull();
         assertThat(testingBooking.size()).isEqualTo(1);
-        assertThat(testingBooking.get(0)).isEqualTo(booking);
+        assertThat(testingBooking.get(0).getId()).isEqualTo(booking.getId());
+        assertThat(testingBooking.get(0).getItem().getName()).isEqualTo(item.getName());
+        assertThat(testingBooking.get(0).getBooker().getEmail()).isEqualTo(booker.getEmail());
     }
 
     @Test
@@ -104,6 +109,7 @@ class BookingRepositoryTest {
                 .end(end)
                 .status(BookingStatus.APPROVED)
                 .item(item)
+                .owner(owner)
                 .build());
         start = LocalDateTime.now().plusDays(1);
         bookingRepository.save(Booking.builder()
@@ -112,16 +118,19 @@ class BookingRepositoryTest {
                 .end(end)
                 .status(BookingStatus.APPROVED)
                 .item(item)
+                .owner(owner)
                 .build());
 
         // Act
-        List<Booking> testingBooking = bookingRepository.findAllByOwnerIdCurrent(
+        List<BookingAdvancedDto> testingBooking = bookingRepository.findAllByOwnerIdCurrent(
                 owner.getId(), LocalDateTime.now(), FromSizeRequest.of(0, 20)
         );
 
         // Asserts
         assertThat(testingBooking).isNotNull();
         assertThat(testingBooking.size()).isEqualTo(1);
-        assertThat(testingBooking.get(0)).isEqualTo(booking);
+        assertThat(testingBooking.get(0).getId()).isEqualTo(booking.getId());
+        assertThat(testingBooking.get(0).getItem().getName()).isEqualTo(item.getName());
+        assertThat(testingBooking.get(0).getBooker().getEmail()).isEqualTo(booker.getEmail());
     }
 }
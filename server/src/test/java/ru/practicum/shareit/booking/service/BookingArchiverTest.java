@@ -0,0 +1,131 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.ArchivedBookingRepository;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingAdvancedDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.CursorPage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class BookingArchiverTest {
+    @Autowired
+    private BookingArchiver bookingArchiver;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+    private User owner;
+    private User booker;
+    private Booking oldest;
+    private Booking old;
+    private Booking recent;
+
+    @BeforeEach
+    void setUp() {
+        long uniq = System.nanoTime();
+        owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("booking-archiver-owner" + uniq + "@email.com")
+                .build());
+        booker = userRepository.save(User.builder()
+                .name("Booker")
+                .email("booking-archiver-booker" + uniq + "@email.com")
+                .build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Item")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        oldest = save(item, now.minusYears(3), BookingStatus.APPROVED);
+        old = save(item, now.minusYears(2), BookingStatus.REJECTED);
+        recent = save(item, now.minusDays(1), BookingStatus.APPROVED);
+        save(item, now.plusDays(2), BookingStatus.WAITING);
+    }
+
+    @Test
+    @DisplayName("Bookings ended long ago are moved to the archive and listed after hot ones")
+    void archive_movesOldBookingsAndListsContinueInArchive() {
+        // Act
+        bookingArchiver.archive();
+
+        // Asserts
+        assertThat(bookingRepository.findById(oldest.getId())).isEmpty();
+        assertThat(bookingRepository.findById(old.getId())).isEmpty();
+        assertThat(bookingRepository.findById(recent.getId())).isPresent();
+        assertThat(archivedBookingRepository.findById(oldest.getId())).isPresent();
+        assertThat(bookingService.getAllOfBookerByState(0, 10, booker.getId(), "past"))
+                .extracting(BookingAdvancedDto::getId)
+                .containsExactly(recent.getId(), old.getId(), oldest.getId());
+        assertThat(bookingService.getAllOfOwnerByState(2, 1, owner.getId(), "past"))
+                .extracting(BookingAdvancedDto::getId)
+                .containsExactly(oldest.getId());
+        assertThat(bookingService.getAllOfBookerByState(0, 10, booker.getId(), "rejected"))
+                .extracting(BookingAdvancedDto::getId)
+                .containsExactly(old.getId());
+        assertThat(bookingService.getAllOfBookerByState(0, 10, booker.getId(), "all")).hasSize(4);
+        assertThat(bookingService.getCountsOfBooker(booker.getId()))
+                .containsEntry(BookingState.ALL, 4L)
+                .containsEntry(BookingState.PAST, 3L);
+        assertThat(bookingService.getByOwnerId(owner.getId(), oldest.getId()).getId()).isEqualTo(oldest.getId());
+        assertThat(bookingService.isBookerOfItem(booker.getId(), oldest.getItem().getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Cursor pages of past bookings go on in the archive")
+    void archive_cursorPagesContinueInArchive() {
+        // Arrange
+        bookingArchiver.archive();
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+
+        // Act
+        do {
+            CursorPage<BookingAdvancedDto> page = bookingService.getPageOfBookerByState(
+                    cursor, 1, booker.getId(), "past"
+            );
+            page.getContent().forEach(b -> ids.add(b.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Asserts
+        assertThat(ids).containsExactly(recent.getId(), old.getId(), oldest.getId());
+    }
+
+    private Booking save(Item item, LocalDateTime end, BookingStatus status) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .owner(owner)
+                .booker(booker)
+                .start(end.minusDays(1))
+                .end(end)
+                .status(status)
+                .build());
+    }
+}
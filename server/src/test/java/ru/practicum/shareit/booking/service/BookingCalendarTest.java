@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingCalendarTest {
+    private static final Long ITEM_ID = 1L;
+    private static final LocalDateTime DAY = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private BookingRepository bookingRepository;
+    private BookingCalendar bookingCalendar;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = Mockito.mock(BookingRepository.class);
+        Mockito.when(bookingRepository.findApprovedByItemIdEndingAfter(
+                        ArgumentMatchers.eq(ITEM_ID), ArgumentMatchers.any()))
+                .thenReturn(List.of(
+                        new BookingIntervalDto(1L, ITEM_ID, DAY.plusDays(2), DAY.plusDays(4)),
+                        new BookingIntervalDto(2L, ITEM_ID, DAY.plusDays(4), DAY.plusDays(5)),
+                        new BookingIntervalDto(3L, ITEM_ID, DAY.plusDays(8), DAY.plusDays(9))
+                ));
+        bookingCalendar = new BookingCalendar(bookingRepository);
+    }
+
+    @Test
+    @DisplayName("Free slots are gaps between approved bookings in the period")
+    void findFreeSlots_returnGapsBetweenBookings() {
+        // Act
+        List<FreeSlotDto> slots = bookingCalendar.findFreeSlots(ITEM_ID, DAY, DAY.plusDays(10));
+
+        // Asserts
+        assertThat(slots).extracting(FreeSlotDto::getStart)
+                .containsExactly(DAY, DAY.plusDays(5), DAY.plusDays(9));
+        assertThat(slots).extracting(FreeSlotDto::getEnd)
+                .containsExactly(DAY.plusDays(2), DAY.plusDays(8), DAY.plusDays(10));
+    }
+
+    @Test
+    @DisplayName("Period starting inside a booking starts free after it")
+    void findFreeSlots_whenPeriodStartsInsideBooking() {
+        // Act
+        List<FreeSlotDto> slots = bookingCalendar.findFreeSlots(ITEM_ID, DAY.plusDays(3), DAY.plusDays(8));
+
+        // Asserts
+        assertThat(slots).hasSize(1);
+        assertThat(slots.get(0).getStart()).isEqualTo(DAY.plusDays(5));
+        assertThat(slots.get(0).getEnd()).isEqualTo(DAY.plusDays(8));
+    }
+
+    @Test
+    @DisplayName("Calendar is loaded once and updated by approvals")
+    void approved_updatesLoadedCalendarWithoutQueries() {
+        // Arrange
+        bookingCalendar.findFreeSlots(ITEM_ID, DAY, DAY.plusDays(10));
+
+        // Act
+        bookingCalendar.approved(ITEM_ID, DAY, DAY.plusDays(2));
+        List<FreeSlotDto> slots = bookingCalendar.findFreeSlots(ITEM_ID, DAY, DAY.plusDays(8));
+
+        // Asserts
+        assertThat(slots).hasSize(1);
+        assertThat(slots.get(0).getStart()).isEqualTo(DAY.plusDays(5));
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .findApprovedByItemIdEndingAfter(ArgumentMatchers.eq(ITEM_ID), ArgumentMatchers.any());
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import ru.practicum.shareit.booking.ArchivedBookingRepository;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingStatusCountDto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingCountersTest {
+    private static final Long BOOKER_ID = 1L;
+    private static final Long OWNER_ID = 2L;
+
+    private BookingRepository bookingRepository;
+    private BookingCounters bookingCounters;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository = Mockito.mock(BookingRepository.class);
+        Mockito.when(bookingRepository.countByBookerIdGroupByStatus(BOOKER_ID))
+                .thenReturn(List.of(
+                        new BookingStatusCountDto(BookingStatus.WAITING, 1L),
+                        new BookingStatusCountDto(BookingStatus.APPROVED, 2L),
+                        new BookingStatusCountDto(BookingStatus.REJECTED, 1L)
+                ));
+        Mockito.when(bookingRepository.findNotEndedByBookerId(ArgumentMatchers.eq(BOOKER_ID), ArgumentMatchers.any()))
+                .thenReturn(List.of(
+                        new BookingIntervalDto(2L, 1L, now.minusDays(1), now.plusDays(1)),
+                        new BookingIntervalDto(3L, 1L, now.plusDays(1), now.plusDays(2))
+                ));
+        bookingCounters = new BookingCounters(bookingRepository, Mockito.mock(ArchivedBookingRepository.class));
+    }
+
+    @Test
+    @DisplayName("Counts by state are loaded with one grouped query")
+    void getOfBooker_returnCountsByState() {
+        // Act
+        Map<BookingState, Long> counts = bookingCounters.getOfBooker(BOOKER_ID);
+        bookingCounters.getOfBooker(BOOKER_ID);
+
+        // Asserts
+        assertThat(counts).containsEntry(BookingState.ALL, 4L)
+                .containsEntry(BookingState.CURRENT, 1L)
+                .containsEntry(BookingState.FUTURE, 1L)
+                .containsEntry(BookingState.PAST, 2L)
+                .containsEntry(BookingState.WAITING, 1L)
+                .containsEntry(BookingState.REJECTED, 1L);
+        Mockito.verify(bookingRepository, Mockito.times(1)).countByBookerIdGroupByStatus(BOOKER_ID);
+    }
+
+    @Test
+    @DisplayName("Changed bookings drop the counts of the booker and the owner")
+    void changed_dropsLoadedCounts() {
+        // Arrange
+        bookingCounters.getOfBooker(BOOKER_ID);
+        bookingCounters.getOfOwner(OWNER_ID);
+
+        // Act
+        bookingCounters.changed(BOOKER_ID, OWNER_ID);
+        bookingCounters.getOfBooker(BOOKER_ID);
+        bookingCounters.getOfOwner(OWNER_ID);
+
+        // Asserts
+        Mockito.verify(bookingRepository, Mockito.times(2)).countByBookerIdGroupByStatus(BOOKER_ID);
+        Mockito.verify(bookingRepository, Mockito.times(2)).countByOwnerIdGroupByStatus(OWNER_ID);
+    }
+
+    @Test
+    @DisplayName("Future bookings move to current and past with time")
+    void rollOver_movesBookingsByTime() throws Exception {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = now.plus(200, ChronoUnit.MILLIS);
+        Mockito.when(bookingRepository.findNotEndedByBookerId(ArgumentMatchers.eq(BOOKER_ID), ArgumentMatchers.any()))
+                .thenReturn(List.of(
+                        new BookingIntervalDto(2L, 1L, now.minusDays(1), now.plusDays(1)),
+                        new BookingIntervalDto(3L, 1L, now.plusDays(1), now.plusDays(2)),
+                        new BookingIntervalDto(4L, 1L, start, start.plusDays(1)),
+                        new BookingIntervalDto(5L, 1L, start, start.plus(200, ChronoUnit.MILLIS))
+                ));
+        bookingCounters.getOfBooker(BOOKER_ID);
+
+        // Act
+        TimeUnit.MILLISECONDS.sleep(600);
+        bookingCounters.rollOver();
+        Map<BookingState, Long> counts = bookingCounters.getOfBooker(BOOKER_ID);
+
+        // Asserts
+        assertThat(counts).containsEntry(BookingState.ALL, 4L)
+                .containsEntry(BookingState.FUTURE, 1L)
+                .containsEntry(BookingState.CURRENT, 2L)
+                .containsEntry(BookingState.PAST, 1L);
+    }
+}
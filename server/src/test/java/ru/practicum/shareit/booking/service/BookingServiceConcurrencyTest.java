@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingAdvancedDto;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.handler.exception.BadRequestException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class BookingServiceConcurrencyTest {
+    private static final int THREAD_COUNT = 8;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    private User owner;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("booking-concurrency-owner@email.com")
+                .build());
+        User booker = userRepository.save(User.builder()
+                .name("Booker")
+                .email("booking-concurrency-booker@email.com")
+                .build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Item")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+        booking = bookingRepository.save(Booking.builder()
+                .item(item)
+                .owner(owner)
+                .booker(booker)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .status(BookingStatus.WAITING)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Concurrent approvals of a booking change its status once")
+    void approveConcurrently_changesStatusOnce() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BookingAdvancedDto>> results = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            boolean approved = i % 2 == 0;
+            results.add(executor.submit(() -> {
+                start.await();
+                return bookingService.approve(owner.getId(), booking.getId(), approved);
+            }));
+        }
+
+        // Act
+        start.countDown();
+        List<BookingAdvancedDto> transitions = new ArrayList<>();
+        for (Future<BookingAdvancedDto> result : results) {
+            try {
+                transitions.add(result.get());
+            } catch (ExecutionException ex) {
+                assertThat(ex.getCause()).isInstanceOfAny(
+                        BadRequestException.class, ConcurrencyFailureException.class
+                );
+            }
+        }
+        executor.shutdown();
+
+        // Asserts
+        Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertThat(transitions).hasSize(1);
+        assertThat(stored.getStatus()).isEqualTo(transitions.get(0).getStatus());
+        assertThat(stored.getVersion()).isEqualTo(booking.getVersion() + 1);
+    }
+}
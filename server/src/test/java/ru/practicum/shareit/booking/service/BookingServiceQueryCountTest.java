@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingAdvancedDto;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.CursorPage;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@Transactional
+class BookingServiceQueryCountTest {
+    private static final int BOOKING_COUNT = 50;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager entityManager;
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("booking-query-count-owner@email.com")
+                .build());
+        booker = userRepository.save(User.builder()
+                .name("Booker")
+                .email("booking-query-count-booker@email.com")
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < BOOKING_COUNT; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Item #" + i)
+                    .description("description")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .owner(owner)
+                    .booker(booker)
+                    .start(now.plusDays(1))
+                    .end(now.plusDays(2 + i))
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Booking lists are projected to DTOs without loading entities")
+    void whenGetBookingLists_thenNoEntitiesLoaded() {
+        // Act
+        List<BookingAdvancedDto> ownerBookings = bookingService.getAllOfOwnerByState(
+                0, BOOKING_COUNT, owner.getId(), "ALL"
+        );
+        CursorPage<BookingAdvancedDto> bookerBookings = bookingService.getPageOfBookerByState(
+                "", BOOKING_COUNT, booker.getId(), "WAITING"
+        );
+
+        // Asserts
+        assertThat(ownerBookings).hasSize(BOOKING_COUNT);
+        assertThat(ownerBookings.get(0).getItem().getName()).isEqualTo("Item #" + (BOOKING_COUNT - 1));
+        assertThat(ownerBookings.get(0).getBooker().getId()).isEqualTo(booker.getId());
+        assertThat(bookerBookings.getContent()).hasSize(BOOKING_COUNT);
+        // users saved through the repository are checked for existence in the DB, not loaded
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        // the cursor page is the last one of hot bookings and goes on in the archive
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+    }
+}
@@ -5,13 +5,16 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
+import ru.practicum.shareit.booking.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingAdvancedDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
 import ru.practicum.shareit.booking.dto.BookingStatus;
 import ru.practicum.shareit.handler.exception.BadRequestException;
+import ru.practicum.shareit.handler.exception.ConflictException;
 import ru.practicum.shareit.handler.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -24,6 +27,7 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -99,8 +103,10 @@ class BookingServiceTest {
                     return Optional.ofNullable(UserMapper.toUser((UserDto) longObjectMap.get(id)))
                             .orElseThrow(() -> new NotFoundException("not found user #" + id));
                 });
+        ArchivedBookingRepository archivedBookingRepository = Mockito.mock(ArchivedBookingRepository.class);
         bookingService = new BookingServiceImpl(
-                bookingRepository, userService, itemService
+                bookingRepository, archivedBookingRepository, userService, itemService,
+                new BookingCalendar(bookingRepository), new BookingCounters(bookingRepository, archivedBookingRepository)
         );
         owner = userService.create(UserDto.builder()
                 .name("Item Owner")
@@ -222,6 +228,7 @@ class BookingServiceTest {
     void approveBooking() {
         // Arrange
         Item currentItem = ItemMapper.toItem(item);
+        currentItem.setId(item.getId());
         currentItem.setOwner(User.builder().id(99L).build());
         Booking booking = Booking.builder()
                 .item(currentItem)
@@ -241,6 +248,38 @@ class BookingServiceTest {
         assertThat(bookingDto.getStatus()).isEqualTo(BookingStatus.APPROVED);
     }
 
+    @Test
+    @DisplayName("Approve booking overlapping approved booking")
+    void approveBookingOverlappingApproved_throw409Error() {
+        // Arrange
+        Item currentItem = ItemMapper.toItem(item);
+        currentItem.setId(item.getId());
+        currentItem.setOwner(User.builder().id(99L).build());
+        Booking booking = Booking.builder()
+                .item(currentItem)
+                .start(start)
+                .end(end)
+                .booker(UserMapper.toUser(booker))
+                .status(BookingStatus.WAITING)
+                .build();
+        Mockito.when(bookingRepository.findById(ArgumentMatchers.anyLong()))
+                .thenReturn(Optional.ofNullable(booking));
+        Mockito.when(bookingRepository.findApprovedOverlapping(List.of(item.getId()), start, end))
+                .thenReturn(List.of(new BookingIntervalDto(7L, item.getId(), start.minusDays(1), start.plusDays(1))));
+
+        // Act
+        ConflictException exception = assertThrows(
+                ConflictException.class,
+                () -> bookingService.approve(99L, 1L, true),
+                "booking overlaps approved booking #7"
+        );
+
+        // Asserts
+        assertThat(exception.getMessage()).isEqualTo("booking overlaps approved booking #7");
+        Mockito.verify(itemService).lockAllByIds(List.of(item.getId()));
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
     @Test
     @DisplayName("Get approved but not created booking")
     void getApprovedButNotCreatedBooking() {
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,11 +20,14 @@ import ru.practicum.shareit.booking.dto.BookingStatus;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -199,6 +203,35 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.length()").value(ownerItems));
     }
 
+    @Test
+    @DisplayName("GET get items by owner ID with cursor at /items")
+    void whenRequestItemsByOwnerIdWithCursor_returnPages() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/items")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(userHeader, owner.getId())
+                    .content("{\"name\": \"Item #" + i + "\", " +
+                            "\"description\": \"Item #" + i + " description\", " +
+                            "\"available\": true}"));
+        }
+        MvcResult mvcResult = mockMvc.perform(get("/items?size=2&cursor=")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$.[0].name").value("Item #0"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+        mockMvc.perform(get("/items?size=2")
+                        .param("cursor", mvcResult.getResponse().getHeader("X-Next-Cursor"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$.[0].name").value("Item #2"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
     @Test
     @DisplayName("GET search item at /items/search")
     void whenSearchRequest_returnListOfAvailableItems() throws Exception {
@@ -251,6 +284,96 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.length()").value(0));
     }
 
+    @Test
+    @DisplayName("GET free slots of item at /items/{id}/availability")
+    void whenGetAvailability_returnSlotsBetweenApprovedBookings() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(post("/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, owner.getId())
+                        .content("{\"name\": \"Portal Gun\", " +
+                                "\"description\": \"Gadget that allows to travel\", " +
+                                "\"available\": true}"))
+                .andReturn();
+        ItemDto item = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), ItemDto.class);
+        mvcResult = mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Booker\", " +
+                                "\"email\": \"booker" + owner.getEmail() + "\"}"))
+                .andReturn();
+        UserDto booker = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), UserDto.class);
+        LocalDateTime day = LocalDateTime.now().plusDays(1).withNano(0);
+        mvcResult = mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, booker.getId())
+                        .content("{\"itemId\": " + item.getId() + ", " +
+                                "\"start\": \"" + day.plusDays(2) + "\", " +
+                                "\"end\": \"" + day.plusDays(4) + "\"}"))
+                .andReturn();
+        Integer bookingId = JsonPath.read(mvcResult.getResponse().getContentAsString(), "$.id");
+        String availability = "/items/" + item.getId() + "/availability?from=" + day + "&to=" + day.plusDays(10);
+        mockMvc.perform(get(availability))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        mockMvc.perform(patch("/bookings/" + bookingId + "?approved=true")
+                        .header(userHeader, owner.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(availability))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].start").value(day.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)))
+                .andExpect(jsonPath("$[0].end").value(day.plusDays(2).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)))
+                .andExpect(jsonPath("$[1].start").value(day.plusDays(4).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)))
+                .andExpect(jsonPath("$[1].end").value(day.plusDays(10).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)));
+        mockMvc.perform(get("/items/" + item.getId() + "/availability?from=" + day + "&to=" + day))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/999999/availability"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET search items free in period at /items/search")
+    void whenSearchItemsInPeriod_returnItemsWithoutApprovedBookings() throws Exception {
+        String name = "Calendar gun " + owner.getId();
+        MvcResult mvcResult = mockMvc.perform(post("/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, owner.getId())
+                        .content("{\"name\": \"" + name + "\", " +
+                                "\"description\": \"Gadget\", " +
+                                "\"available\": true}"))
+                .andReturn();
+        ItemDto item = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), ItemDto.class);
+        mvcResult = mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Booker\", " +
+                                "\"email\": \"searcher" + owner.getEmail() + "\"}"))
+                .andReturn();
+        UserDto booker = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), UserDto.class);
+        LocalDateTime day = LocalDateTime.now().plusDays(1).withNano(0);
+        mvcResult = mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(userHeader, booker.getId())
+                        .content("{\"itemId\": " + item.getId() + ", " +
+                                "\"start\": \"" + day.plusDays(2) + "\", " +
+                                "\"end\": \"" + day.plusDays(4) + "\"}"))
+                .andReturn();
+        Integer bookingId = JsonPath.read(mvcResult.getResponse().getContentAsString(), "$.id");
+        mockMvc.perform(patch("/bookings/" + bookingId + "?approved=true")
+                        .header(userHeader, owner.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items/search?text=" + name + "&start=" + day.plusDays(3) + "&end=" + day.plusDays(5)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/items/search?text=" + name + "&start=" + day + "&end=" + day.plusDays(2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$.[0].id").value(item.getId()));
+        mockMvc.perform(get("/items/search?text=" + name + "&start=" + day))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("POST create comment at /items/{id}/comment")
     void whenCreateNewComment_returnNewCommentDto() throws Exception {
@@ -275,6 +398,7 @@ public class ItemControllerTest {
                 .end(LocalDateTime.now().minusDays(10))
                 .item(item)
                 .booker(author)
+                .owner(UserMapper.toUser(owner))
                 .build());
         String text = "You know the worst part about inventing " +
                 "teleportation? Suddenly, you're able to travel the whole " +
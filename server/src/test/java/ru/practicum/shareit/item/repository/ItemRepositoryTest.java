@@ -6,12 +6,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.util.FromSizeRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -21,11 +28,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 class ItemRepositoryTest {
     ItemRepository itemRepository;
     UserRepository userRepository;
+    BookingRepository bookingRepository;
 
     @Autowired
-    public ItemRepositoryTest(ItemRepository itemRepository, UserRepository userRepository) {
+    public ItemRepositoryTest(
+            ItemRepository itemRepository, UserRepository userRepository, BookingRepository bookingRepository
+    ) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
+        this.bookingRepository = bookingRepository;
     }
 
     @Test
@@ -50,15 +61,101 @@ class ItemRepositoryTest {
 
         // Act
         String text = "thREe";
-        List<Item> itemsOfThree = itemRepository.findAvailableByNameOrDescription(text, pageable);
+        List<ItemDto> itemsOfThree = itemRepository.findAvailableByNameOrDescription(text, pageable);
         text = "Two";
-        List<Item> itemsOfTwo = itemRepository.findAvailableByNameOrDescription(text, pageable);
+        List<ItemDto> itemsOfTwo = itemRepository.findAvailableByNameOrDescription(text, pageable);
         text = "multiple";
-        List<Item> itemsOfMultiple = itemRepository.findAvailableByNameOrDescription(text, pageable);
+        List<ItemDto> itemsOfMultiple = itemRepository.findAvailableByNameOrDescription(text, pageable);
 
         // Asserts
         assertThat(itemsOfThree.size()).isEqualTo(3);
         assertThat(itemsOfTwo.size()).isEqualTo(5);
         assertThat(itemsOfMultiple.size()).isEqualTo(6);
     }
+
+    @Test
+    @DisplayName("Find available items by text free in period")
+    void findAvailableAndFreeByNameOrDescription() {
+        // Arrange
+        User owner = userRepository.save(User.builder()
+                .name("Name")
+                .email("free-item@owner.com")
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(10).withNano(0);
+        BookingStatus[] statuses = {BookingStatus.APPROVED, BookingStatus.WAITING, BookingStatus.REJECTED, null};
+        for (BookingStatus status : statuses) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Free item")
+                    .description("booking " + status)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            if (status != null) {
+                bookingRepository.save(Booking.builder()
+                        .item(item)
+                        .owner(owner)
+                        .booker(owner)
+                        .start(start.minusDays(1))
+                        .end(start.plusDays(1))
+                        .status(status)
+                        .build());
+            }
+        }
+        Pageable pageable = FromSizeRequest.of(0, 10);
+
+        // Act
+        List<ItemDto> free = itemRepository.findAvailableAndFreeByNameOrDescription(
+                "free", start, start.plusDays(2), pageable
+        );
+        List<ItemDto> freeAfterBooking = itemRepository.findAvailableAndFreeByNameOrDescription(
+                "free", start.plusDays(1), start.plusDays(2), pageable
+        );
+
+        // Asserts
+        assertThat(free).extracting(ItemDto::getDescription)
+                .containsExactlyInAnyOrder("booking WAITING", "booking REJECTED", "booking null");
+        assertThat(freeAfterBooking).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Find available items by text in the order of the search index")
+    void findAvailableByNameOrDescription_sameOrderAsSearchIndex() {
+        // Arrange
+        User owner = userRepository.save(User.builder()
+                .name("Name")
+                .email("ranked-item@owner.com")
+                .build());
+        List<List<String>> texts = List.of(
+                List.of("Saw", "no drill here"),
+                List.of("Hammer", "drills 50_off"),
+                List.of("drill", "Drill, drill and drill"),
+                List.of("50% off drill", "drill")
+        );
+        for (List<String> text : texts) {
+            itemRepository.save(Item.builder()
+                    .name(text.get(0))
+                    .description(text.get(1))
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+        ItemSearchIndex itemSearchIndex = new ItemSearchIndex(itemRepository);
+        itemSearchIndex.warmUp();
+        Pageable pageable = FromSizeRequest.of(0, 10);
+
+        // Act
+        List<ItemDto> drills = itemRepository.findAvailableByNameOrDescription("DRILL", pageable);
+        List<ItemDto> percents = itemRepository.findAvailableByNameOrDescription("50%", pageable);
+
+        // Asserts
+        assertThat(drills).extracting(ItemDto::getName)
+                .containsExactly("drill", "50% off drill", "Saw", "Hammer");
+        assertThat(drills).extracting(ItemDto::getId)
+                .containsExactlyElementsOf(itemSearchIndex.search("DRILL", 0, 10).stream()
+                        .map(ItemDto::getId)
+                        .collect(Collectors.toList()));
+        assertThat(percents).extracting(ItemDto::getName).containsExactly("50% off drill");
+        assertThat(itemSearchIndex.search("50%", 0, 10)).extracting(ItemDto::getName)
+                .containsExactly("50% off drill");
+    }
 }
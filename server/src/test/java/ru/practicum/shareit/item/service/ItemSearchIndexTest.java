@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchIndexTest {
+    private ItemRepository itemRepository;
+    private ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = Mockito.mock(ItemRepository.class);
+        List<ItemDto> items = new ArrayList<>();
+        for (long i = 0; i < 10; i++) {
+            items.add(ItemDto.builder()
+                    .id(i + 1)
+                    .name((i % 3 == 0) ? "multiple of three" : "Item #" + i)
+                    .description((i % 2 == 0) ? "multiple of two" : "Item #" + i)
+                    .available(true)
+                    .build());
+        }
+        Mockito.when(itemRepository.findAvailableAfter(ArgumentMatchers.eq(0L), ArgumentMatchers.any()))
+                .thenReturn(items);
+        itemSearchIndex = new ItemSearchIndex(itemRepository);
+    }
+
+    @Test
+    @DisplayName("Index is not ready before warm-up")
+    void whenNotWarmedUp_isNotReady() {
+        assertThat(itemSearchIndex.isReady()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Search items by case-insensitive substring")
+    void whenSearchBySubstring_returnMatchingItems() {
+        // Arrange
+        itemSearchIndex.warmUp();
+
+        // Act
+        List<ItemDto> itemsOfThree = itemSearchIndex.search("thREe", 0, 10);
+        List<ItemDto> itemsOfTwo = itemSearchIndex.search("Two", 0, 10);
+        List<ItemDto> itemsOfMultiple = itemSearchIndex.search("ltip", 0, 10);
+        List<ItemDto> itemsOfShortText = itemSearchIndex.search("#", 0, 10);
+
+        // Asserts
+        assertThat(itemSearchIndex.isReady()).isTrue();
+        assertThat(itemsOfThree.size()).isEqualTo(4);
+        assertThat(itemsOfTwo.size()).isEqualTo(5);
+        assertThat(itemsOfMultiple.size()).isEqualTo(7);
+        assertThat(itemsOfShortText.size()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Name prefix matches are ranked first")
+    void whenSearch_rankByNamePrefixAndFrequency() {
+        // Arrange
+        itemSearchIndex.warmUp();
+        itemSearchIndex.index(ItemDto.builder()
+                .id(99L)
+                .name("Two two")
+                .description("two")
+                .available(true)
+                .build());
+
+        // Act
+        List<ItemDto> items = itemSearchIndex.search("two", 0, 3);
+
+        // Asserts
+        assertThat(items.stream().map(ItemDto::getId).collect(Collectors.toList()))
+                .containsExactly(99L, 1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Updated and removed items are reindexed")
+    void whenItemUpdatedOrOwnerRemoved_reindex() {
+        // Arrange
+        itemSearchIndex.warmUp();
+        Mockito.when(itemRepository.findIdsByOwnerId(7L)).thenReturn(List.of(2L));
+
+        // Act
+        itemSearchIndex.index(ItemDto.builder()
+                .id(1L)
+                .name("multiple of three")
+                .description("multiple of two")
+                .available(false)
+                .build());
+        itemSearchIndex.removeByOwnerId(7L);
+
+        // Asserts
+        assertThat(itemSearchIndex.search("three", 0, 10).stream().map(ItemDto::getId))
+                .doesNotContain(1L)
+                .hasSize(3);
+        assertThat(itemSearchIndex.search("Item #1", 0, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Filtered search pages over kept items")
+    void whenSearchWithFilter_pageKeptItems() {
+        // Arrange
+        itemSearchIndex.warmUp();
+
+        // Act
+        List<ItemDto> items = itemSearchIndex.search("multiple", 1, 2, ids -> ids.stream()
+                .filter(id -> id % 2 == 1)
+                .collect(Collectors.toList()));
+
+        // Asserts
+        assertThat(items.stream().map(ItemDto::getId).collect(Collectors.toList()))
+                .containsExactly(7L, 3L);
+    }
+}
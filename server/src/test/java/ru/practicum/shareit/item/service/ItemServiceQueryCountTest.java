@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemAdvancedDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@Transactional
+class ItemServiceQueryCountTest {
+    private static final int ITEM_COUNT = 100;
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private EntityManager entityManager;
+    private Statistics statistics;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("query-count-owner@email.com")
+                .build());
+        User booker = userRepository.save(User.builder()
+                .name("Booker")
+                .email("query-count-booker@email.com")
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Item #" + i)
+                    .description("description")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .owner(owner)
+                    .booker(booker)
+                    .start(now.minusDays(2))
+                    .end(now.minusDays(1))
+                    .status(BookingStatus.APPROVED)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .owner(owner)
+                    .booker(booker)
+                    .start(now.plusDays(1))
+                    .end(now.plusDays(2))
+                    .status(BookingStatus.WAITING)
+                    .build());
+            commentRepository.save(Comment.builder()
+                    .item(item)
+                    .author(booker)
+                    .text("Comment #" + i)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Owner items listing runs a constant number of queries")
+    void getAllByOwnerId_runsConstantNumberOfQueries() {
+        // Act
+        List<ItemAdvancedDto> items = itemService.getAllByOwnerId(0, ITEM_COUNT, owner.getId());
+
+        // Asserts
+        assertThat(items.size()).isEqualTo(ITEM_COUNT);
+        assertThat(items).allMatch(i -> i.getLastBooking() != null && i.getNextBooking() != null);
+        assertThat(items).allMatch(i -> i.getComments().size() == 1);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(3);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Owner items listing statements do not depend on page size")
+    void getAllByOwnerId_statementsDoNotDependOnPageSize() {
+        // Arrange
+        itemService.getAllByOwnerId(0, 1, owner.getId());
+        long singleItemStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        itemService.getAllByOwnerId(0, ITEM_COUNT, owner.getId());
+
+        // Asserts
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(singleItemStatements);
+    }
+}
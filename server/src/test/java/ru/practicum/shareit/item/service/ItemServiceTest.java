@@ -9,6 +9,7 @@ import ru.practicum.shareit.handler.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemAdvancedDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -55,9 +56,11 @@ public class ItemServiceTest {
                 .thenReturn(ItemRequest.builder().id(stupidId).build());
         itemService = new ItemServiceImpl(
                 itemRepository,
+                Mockito.mock(CommentRepository.class),
                 userService,
                 Mockito.mock(BookingService.class),
-                itemRequestService
+                itemRequestService,
+                Mockito.mock(ItemSearchIndex.class)
         );
     }
 
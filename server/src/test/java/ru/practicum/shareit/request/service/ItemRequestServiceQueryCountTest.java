@@ -0,0 +1,89 @@
+package ru.practicum.shareit.request.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@Transactional
+class ItemRequestServiceQueryCountTest {
+    private static final int REQUEST_COUNT = 30;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    private Statistics statistics;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("request-query-count-owner@email.com")
+                .build());
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            User requester = userRepository.save(User.builder()
+                    .name("Requester #" + i)
+                    .email("request-query-count-requester" + i + "@email.com")
+                    .build());
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("Request #" + i)
+                    .requester(requester)
+                    .build());
+            for (int j = 0; j < 2; j++) {
+                itemRepository.save(Item.builder()
+                        .name("Item #" + i + "." + j)
+                        .description("description")
+                        .available(true)
+                        .owner(owner)
+                        .itemRequest(request)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Requests with answering items are loaded in two queries")
+    void whenGetAllRequests_thenTwoQueries() {
+        // Act
+        List<ItemRequestDto> requests = itemRequestService.getAllRequests(0, REQUEST_COUNT, owner.getId());
+
+        // Asserts
+        assertThat(requests).hasSize(REQUEST_COUNT);
+        assertThat(requests).allSatisfy(r -> assertThat(r.getItems()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestMapper;
 import ru.practicum.shareit.request.ItemRequestRepository;
@@ -30,7 +31,9 @@ class ItemRequestServiceTest {
     void setUp() {
         itemRequestRepository = Mockito.mock(ItemRequestRepository.class);
         UserService userService = Mockito.mock(UserService.class);
-        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userService);
+        itemRequestService = new ItemRequestServiceImpl(
+                itemRequestRepository, Mockito.mock(ItemRepository.class), userService
+        );
         requester = User.builder().id(1L).build();
         request = ItemRequest.builder()
                 .description("item description")
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.handler.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class UserServiceCacheTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    private double hits;
+    private double misses;
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create(UserDto.builder()
+                .name("Cached")
+                .email("cached" + System.nanoTime() + "@email.com")
+                .build());
+        entityManagerFactory.getCache().evictAll();
+        hits = cacheGets("hit");
+        misses = cacheGets("miss");
+    }
+
+    @Test
+    @DisplayName("Get user by id from second-level cache")
+    void whenGetUserTwice_thenSecondIsCacheHit() {
+        // Act
+        userService.getByIdOrNotFoundError(user.getId());
+        User cached = userService.getByIdOrNotFoundError(user.getId());
+
+        // Asserts
+        assertThat(cached.getEmail()).isEqualTo(user.getEmail());
+        // a READ_WRITE region reads the entry again before putting the loaded user
+        assertThat(cacheGets("miss") - misses).isEqualTo(2);
+        assertThat(cacheGets("hit") - hits).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Updated and deleted users are not served from cache")
+    void whenUpdateOrDeleteUser_thenCacheInvalidated() {
+        // Arrange
+        userService.getByIdOrNotFoundError(user.getId());
+        ItemDto item = itemService.create(ItemDto.builder()
+                .name("Cached item")
+                .description("description")
+                .available(true)
+                .build(), user.getId());
+        itemService.getByIdOrNotFoundError(item.getId());
+
+        // Act
+        userService.update(UserDto.builder().name("Updated").build(), user.getId());
+        String updatedName = userService.getByIdOrNotFoundError(user.getId()).getName();
+        userService.delete(user.getId());
+
+        // Asserts
+        assertThat(updatedName).isEqualTo("Updated");
+        assertThrows(NotFoundException.class, () -> userService.getByIdOrNotFoundError(user.getId()));
+        assertThrows(NotFoundException.class, () -> itemService.getByIdOrNotFoundError(item.getId()));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", "users", "result", result)
+                .functionCounter()
+                .count();
+    }
+}
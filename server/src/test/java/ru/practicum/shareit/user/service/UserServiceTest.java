@@ -6,10 +6,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import ru.practicum.shareit.handler.exception.NotFoundException;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -18,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 class UserServiceTest {
     private UserService userService;
     private UserRepository userRepository;
+    private UserExistenceCache userExistenceCache;
 
     private Long id;
     private Map<Long, User> usersInMemory;
@@ -41,7 +44,13 @@ class UserServiceTest {
                     Long id = invocation.getArgument(0);
                     return Optional.ofNullable(usersInMemory.get(id));
                 });
-        userService = new UserServiceImpl(userRepository);
+        userExistenceCache = new UserExistenceCache(userRepository);
+        userService = new UserServiceImpl(
+                userRepository,
+                Mockito.mock(ItemSearchIndex.class),
+                userExistenceCache,
+                Mockito.mock(EntityManagerFactory.class, Mockito.RETURNS_DEEP_STUBS)
+        );
     }
 
     @Test
@@ -213,4 +222,47 @@ class UserServiceTest {
         Mockito.verify(userRepository, Mockito.times(1))
                 .delete(user);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Check user existence from memory")
+    void whenCheckExists_thenNoRepositoryLookup() {
+        // Arrange
+        UserDto savedUserDto = userService.create(UserDto.builder()
+                .name("User Name")
+                .email("user@email.com")
+                .build());
+
+        // Act
+        userService.checkExistsOrNotFoundError(savedUserDto.getId());
+        userService.delete(savedUserDto.getId());
+        NotFoundException exception = assertThrows(
+                NotFoundException.class,
+                () -> userService.checkExistsOrNotFoundError(savedUserDto.getId())
+        );
+
+        // Asserts
+        assertThat(exception.getMessage()).isEqualTo("not found user by id " + savedUserDto.getId());
+        Mockito.verify(userRepository, Mockito.times(1))
+                .existsById(savedUserDto.getId());
+    }
+
+    @Test
+    @DisplayName("Users deleted by other servers are not known after the reload")
+    void whenReloadWithoutUser_thenRepositoryLookup() {
+        // Arrange
+        UserDto savedUserDto = userService.create(UserDto.builder()
+                .name("User Name")
+                .email("user@email.com")
+                .build());
+        Mockito.when(userRepository.findIdsAfter(ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
+                .thenReturn(List.of());
+
+        // Act
+        userExistenceCache.reload();
+
+        // Asserts
+        assertThrows(NotFoundException.class, () -> userService.checkExistsOrNotFoundError(savedUserDto.getId()));
+        Mockito.verify(userRepository, Mockito.times(1))
+                .existsById(savedUserDto.getId());
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.handler.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Decode encoded cursor")
+    void whenDecodeEncodedCursor_returnSameKey() {
+        // Arrange
+        LocalDateTime time = LocalDateTime.of(2022, 8, 1, 12, 30, 15, 123456000);
+
+        // Act
+        Optional<KeysetCursor> cursor = KeysetCursor.decode(KeysetCursor.of(time, 42L).encode());
+        Optional<KeysetCursor> idCursor = KeysetCursor.decode(KeysetCursor.of(7L).encode());
+
+        // Asserts
+        assertThat(cursor).isPresent();
+        assertThat(cursor.get().getTime()).isEqualTo(time);
+        assertThat(cursor.get().getId()).isEqualTo(42L);
+        assertThat(idCursor).isPresent();
+        assertThat(idCursor.get().getTime()).isNull();
+        assertThat(idCursor.get().getId()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Decode empty cursor as first page")
+    void whenDecodeEmptyCursor_returnEmpty() {
+        // Arrange, Act, Asserts
+        assertThat(KeysetCursor.decode("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Decode invalid cursor")
+    void whenDecodeInvalidCursor_throw400Error() {
+        // Arrange, Act
+        BadRequestException exception = assertThrows(
+                BadRequestException.class,
+                () -> KeysetCursor.decode("not a cursor")
+        );
+
+        // Asserts
+        assertThat(exception.getMessage()).isEqualTo("invalid cursor");
+    }
+
+    @Test
+    @DisplayName("Decode cursor without time where time is needed")
+    void whenDecodeTimedIdOnlyCursor_throw400Error() {
+        // Arrange
+        String token = KeysetCursor.of(7L).encode();
+
+        // Act
+        BadRequestException exception = assertThrows(
+                BadRequestException.class,
+                () -> KeysetCursor.decodeTimed(token)
+        );
+
+        // Asserts
+        assertThat(exception.getMessage()).isEqualTo("invalid cursor");
+        assertThat(KeysetCursor.decodeTimed("")).isEmpty();
+    }
+}
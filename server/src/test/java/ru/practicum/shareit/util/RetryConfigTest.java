@@ -0,0 +1,24 @@
+package ru.practicum.shareit.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class RetryConfigTest {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Retry metrics listener leaves the meter registry to be configured with the meter binders")
+    void whenContextLoads_thenMeterBindersBound() {
+        // Asserts
+        assertThat(meterRegistry.find("jvm.threads.live").gauge()).isNotNull();
+    }
+}